@@ -1,14 +0,0 @@
-package com.alexduzi.dscommerce.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class AppConfig {
-
-	@Bean
-	public ModelMapper modelMapper() {
-		return new ModelMapper();
-	}
-}
@@ -1,31 +1,43 @@
 package com.alexduzi.dscommerce.config;
 
+import com.alexduzi.dscommerce.config.authorization.BoundedOAuth2AuthorizationService;
+import com.alexduzi.dscommerce.config.authorization.ExpiringJdbcOAuth2AuthorizationService;
+import com.alexduzi.dscommerce.config.customgrant.BoundedPasswordEncoder;
 import com.alexduzi.dscommerce.config.customgrant.CustomPasswordAuthenticationConverter;
 import com.alexduzi.dscommerce.config.customgrant.CustomPasswordAuthenticationProvider;
-import com.alexduzi.dscommerce.config.customgrant.CustomUserAuthorities;
+import com.alexduzi.dscommerce.config.customgrant.CustomTokenErrorResponseHandler;
+import com.alexduzi.dscommerce.config.jwt.CachingJwtDecoder;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationConsentService;
-import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
-import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
 import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
@@ -38,13 +50,19 @@ import org.springframework.security.oauth2.server.authorization.settings.TokenSe
 import org.springframework.security.oauth2.server.authorization.token.*;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.io.InputStream;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.spec.ECGenParameterSpec;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Configuration
 public class AuthorizationServerConfig {
@@ -58,9 +76,51 @@ public class AuthorizationServerConfig {
     @Value("${security.jwt.duration}")
     private Integer jwtDurationSeconds;
 
+    @Value("${security.jwt.refresh-duration}")
+    private Integer refreshTokenDurationSeconds;
+
+    @Value("${security.jwt.algorithm}")
+    private String jwtAlgorithm;
+
+    @Value("${security.jwt.keystore.location}")
+    private String keystoreLocation;
+
+    @Value("${security.jwt.keystore.password}")
+    private String keystorePassword;
+
+    @Value("${security.jwt.keystore.signing-key}")
+    private String signingKeyId;
+
+    @Value("${security.authorization-store.type}")
+    private String authorizationStoreType;
+
+    @Value("${security.authorization-store.max-size}")
+    private Long authorizationStoreMaxSize;
+
+    @Value("${security.jwt.decoder-cache.max-size}")
+    private Long jwtDecoderCacheMaxSize;
+
+    @Value("${security.password-verification.threads}")
+    private Integer passwordVerificationThreads;
+
+    @Value("${security.password-verification.queue-capacity}")
+    private Integer passwordVerificationQueueCapacity;
+
+    @Value("${security.password-verification.timeout}")
+    private Long passwordVerificationTimeoutMillis;
+
+    @Value("${security.password-verification.retry-after}")
+    private Long passwordVerificationRetryAfterSeconds;
+
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
     @Order(2)
     public SecurityFilterChain asSecurityFilterChain(HttpSecurity http) throws Exception {
@@ -71,7 +131,8 @@ public class AuthorizationServerConfig {
         http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
                 .tokenEndpoint(tokenEndpoint -> tokenEndpoint
                         .accessTokenRequestConverter(new CustomPasswordAuthenticationConverter())
-                        .authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService(), tokenGenerator(), userDetailsService, passwordEncoder())));
+                        .authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService(), tokenGenerator(), userDetailsService, userPasswordEncoder()))
+                        .errorResponseHandler(new CustomTokenErrorResponseHandler(passwordVerificationRetryAfterSeconds)));
 
         http.oauth2ResourceServer(oauth2ResourceServer -> oauth2ResourceServer.jwt(Customizer.withDefaults()));
         // @formatter:on
@@ -81,7 +142,10 @@ public class AuthorizationServerConfig {
 
     @Bean
     public OAuth2AuthorizationService authorizationService() {
-        return new InMemoryOAuth2AuthorizationService();
+        if ("jdbc".equalsIgnoreCase(authorizationStoreType)) {
+            return new ExpiringJdbcOAuth2AuthorizationService(jdbcTemplate, registeredClientRepository(), authorizationStoreMaxSize);
+        }
+        return new BoundedOAuth2AuthorizationService(authorizationStoreMaxSize, Duration.ofSeconds(jwtDurationSeconds));
     }
 
     @Bean
@@ -94,6 +158,12 @@ public class AuthorizationServerConfig {
         return new BCryptPasswordEncoder();
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder userPasswordEncoder() {
+        return new BoundedPasswordEncoder(passwordEncoder(), passwordVerificationThreads, passwordVerificationQueueCapacity,
+                Duration.ofMillis(passwordVerificationTimeoutMillis), meterRegistry);
+    }
+
     @Bean
     public RegisteredClientRepository registeredClientRepository() {
         // @formatter:off
@@ -104,6 +174,7 @@ public class AuthorizationServerConfig {
                 .scope("read")
                 .scope("write")
                 .authorizationGrantType(new AuthorizationGrantType("password"))
+                .authorizationGrantType(AuthorizationGrantType.REFRESH_TOKEN)
                 .tokenSettings(tokenSettings())
                 .clientSettings(clientSettings())
                 .build();
@@ -118,6 +189,8 @@ public class AuthorizationServerConfig {
         return TokenSettings.builder()
                 .accessTokenFormat(OAuth2TokenFormat.SELF_CONTAINED)
                 .accessTokenTimeToLive(Duration.ofSeconds(jwtDurationSeconds))
+                .refreshTokenTimeToLive(Duration.ofSeconds(refreshTokenDurationSeconds))
+                .reuseRefreshTokens(false)
                 .build();
         // @formatter:on
     }
@@ -134,41 +207,118 @@ public class AuthorizationServerConfig {
 
     @Bean
     public OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator() {
-        NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(jwkSource());
+        NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey(jwkSet()))));
         JwtGenerator jwtGenerator = new JwtGenerator(jwtEncoder);
         jwtGenerator.setJwtCustomizer(tokenCustomizer());
         OAuth2AccessTokenGenerator accessTokenGenerator = new OAuth2AccessTokenGenerator();
-        return new DelegatingOAuth2TokenGenerator(jwtGenerator, accessTokenGenerator);
+        OAuth2RefreshTokenGenerator refreshTokenGenerator = new OAuth2RefreshTokenGenerator();
+        return new DelegatingOAuth2TokenGenerator(jwtGenerator, accessTokenGenerator, refreshTokenGenerator);
     }
 
     @Bean
     public OAuth2TokenCustomizer<JwtEncodingContext> tokenCustomizer() {
+        SignatureAlgorithm signatureAlgorithm = signatureAlgorithm(signingKey(jwkSet()));
         return context -> {
-            OAuth2ClientAuthenticationToken principal = context.getPrincipal();
-            CustomUserAuthorities user = (CustomUserAuthorities) principal.getDetails();
-            List<String> authorities = user.getAuthorities().stream().map(x -> x.getAuthority()).toList();
+            context.getJwsHeader().algorithm(signatureAlgorithm);
+            // the user authentication stored by CustomPasswordAuthenticationProvider, also on refresh_token grants
+            Authentication principal = context.getPrincipal();
+            // an ArrayList, since the claims are also stored by the JDBC authorization store
+            List<String> authorities = principal.getAuthorities().stream().map(x -> x.getAuthority()).collect(Collectors.toList());
             if (context.getTokenType().getValue().equals("access_token")) {
                 // @formatter:off
                 context.getClaims()
                         .claim("authorities", authorities)
-                        .claim("username", user.getUsername());
+                        .claim("username", principal.getName());
                 // @formatter:on
+                if (principal.getDetails() instanceof String userId) {
+                    context.getClaims().claim("user_id", userId);
+                }
             }
         };
     }
 
     @Bean
     public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
-        return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+        return new CachingJwtDecoder(OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource), jwtDecoderCacheMaxSize);
     }
 
     @Bean
     public JWKSource<SecurityContext> jwkSource() {
-        RSAKey rsaKey = generateRsa();
-        JWKSet jwkSet = new JWKSet(rsaKey);
+        JWKSet jwkSet = jwkSet();
         return (jwkSelector, securityContext) -> jwkSelector.select(jwkSet);
     }
 
+    /**
+     * Every key of the keystore verifies tokens and is published on the JWK Set endpoint, so tokens signed by
+     * any node sharing the keystore, or by a key being rotated out, stay valid. Only the signing key signs new tokens.
+     * Without a keystore a throwaway key is generated for security.jwt.algorithm (RS256 or ES256), which is only
+     * suitable for a single development node.
+     */
+    @Bean
+    public JWKSet jwkSet() {
+        if (keystoreLocation == null || keystoreLocation.isBlank()) {
+            if ("ES256".equalsIgnoreCase(jwtAlgorithm)) {
+                return new JWKSet(generateEc());
+            }
+            if (!"RS256".equalsIgnoreCase(jwtAlgorithm)) {
+                throw new IllegalStateException("Unsupported security.jwt.algorithm " + jwtAlgorithm + ", expected RS256 or ES256");
+            }
+            return new JWKSet(generateRsa());
+        }
+        try {
+            Resource resource = new DefaultResourceLoader().getResource(keystoreLocation);
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            try (InputStream inputStream = resource.getInputStream()) {
+                keyStore.load(inputStream, keystorePassword.toCharArray());
+            }
+            return JWKSet.load(keyStore, name -> keystorePassword.toCharArray());
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not load JWK keystore " + keystoreLocation, ex);
+        }
+    }
+
+    private JWK signingKey(JWKSet jwkSet) {
+        List<JWK> privateKeys = jwkSet.getKeys().stream().filter(JWK::isPrivate).toList();
+        if (signingKeyId != null && !signingKeyId.isBlank()) {
+            return privateKeys.stream().filter(x -> signingKeyId.equals(x.getKeyID())).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Signing key " + signingKeyId + " not found among private keys "
+                            + privateKeys.stream().map(JWK::getKeyID).collect(Collectors.joining(", "))));
+        }
+        if (privateKeys.size() != 1) {
+            throw new IllegalStateException("security.jwt.keystore.signing-key must be set when the keystore holds " + privateKeys.size() + " private keys");
+        }
+        return privateKeys.get(0);
+    }
+
+    /**
+     * The signing algorithm follows the signing key, so a keystore holding EC keys signs with ECDSA whatever security.jwt.algorithm says.
+     */
+    private static SignatureAlgorithm signatureAlgorithm(JWK signingKey) {
+        if (signingKey instanceof ECKey ecKey) {
+            if (Curve.P_384.equals(ecKey.getCurve())) {
+                return SignatureAlgorithm.ES384;
+            }
+            if (Curve.P_521.equals(ecKey.getCurve())) {
+                return SignatureAlgorithm.ES512;
+            }
+            return SignatureAlgorithm.ES256;
+        }
+        return SignatureAlgorithm.RS256;
+    }
+
+    private static ECKey generateEc() {
+        try {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+            ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+            ECPrivateKey privateKey = (ECPrivateKey) keyPair.getPrivate();
+            return new ECKey.Builder(Curve.P_256, publicKey).privateKey(privateKey).keyID(UUID.randomUUID().toString()).build();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     private static RSAKey generateRsa() {
         KeyPair keyPair = generateRsaKey();
         RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
@@ -0,0 +1,96 @@
+package com.alexduzi.dscommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+
+    public static final String PRODUCT_COUNTS = "productCounts";
+
+    public static final String PRODUCT_JSON = "productJson";
+
+    public static final String CATEGORY_JSON = "categoryJson";
+
+    public static final String USER_DETAILS = "userDetails";
+
+    public static final String UNKNOWN_USERS = "unknownUsers";
+
+    @Value("${cache.products.max-size}")
+    private Long productsMaxSize;
+
+    @Value("${cache.products.ttl}")
+    private Long productsTtlSeconds;
+
+    @Value("${cache.product-counts.max-size}")
+    private Long productCountsMaxSize;
+
+    @Value("${cache.product-counts.ttl}")
+    private Long productCountsTtlSeconds;
+
+    @Value("${cache.json.max-size}")
+    private Long jsonMaxSize;
+
+    @Value("${cache.json.ttl}")
+    private Long jsonTtlSeconds;
+
+    @Value("${cache.user-details.max-size}")
+    private Long userDetailsMaxSize;
+
+    @Value("${cache.user-details.ttl}")
+    private Long userDetailsTtlSeconds;
+
+    @Value("${cache.user-details.negative-ttl}")
+    private Long unknownUsersTtlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // @formatter:off
+        cacheManager.registerCustomCache(PRODUCTS, Caffeine.newBuilder()
+                .maximumSize(productsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(productsTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PRODUCT_COUNTS, Caffeine.newBuilder()
+                .maximumSize(productCountsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(productCountsTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PRODUCT_JSON, Caffeine.newBuilder()
+                .maximumSize(jsonMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(jsonTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CATEGORY_JSON, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofSeconds(jsonTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USER_DETAILS, Caffeine.newBuilder()
+                .maximumSize(userDetailsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(userDetailsTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(UNKNOWN_USERS, Caffeine.newBuilder()
+                .maximumSize(userDetailsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(unknownUsersTtlSeconds))
+                .recordStats()
+                .build());
+        // @formatter:on
+        // evictions and puts made inside a transaction are applied after it commits, so a read running
+        // between the eviction and the commit can't cache the old state again
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,68 @@
+package com.alexduzi.dscommerce.config;
+
+import com.alexduzi.dscommerce.config.authorization.MeteredOAuth2AuthorizationService;
+import com.alexduzi.dscommerce.config.jwt.CachingJwtDecoder;
+import com.alexduzi.dscommerce.config.metrics.QueryCountFilter;
+import com.alexduzi.dscommerce.config.metrics.QueryCountInspector;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry registry) {
+        return new FilterRegistrationBean<>(new QueryCountFilter(registry));
+    }
+
+    @Bean
+    public MeterBinder authorizationStoreMetrics(OAuth2AuthorizationService authorizationService) {
+        return registry -> {
+            if (authorizationService instanceof MeteredOAuth2AuthorizationService store) {
+                Gauge.builder("oauth2.authorizations.size", store, MeteredOAuth2AuthorizationService::size)
+                        .description("Authorizations held by the authorization store")
+                        .register(registry);
+                FunctionCounter.builder("oauth2.authorizations.evictions", store, MeteredOAuth2AuthorizationService::evictionCount)
+                        .description("Authorizations removed because they expired or exceeded the store size")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jwtDecoderCacheMetrics(JwtDecoder jwtDecoder) {
+        return registry -> {
+            if (jwtDecoder instanceof CachingJwtDecoder decoder) {
+                Gauge.builder("jwt.decoder.cache.size", decoder, CachingJwtDecoder::size)
+                        .description("Verified tokens held by the JWT decoder cache")
+                        .register(registry);
+                FunctionCounter.builder("jwt.decoder.cache.hits", decoder, x -> x.stats().hitCount())
+                        .description("Tokens decoded without verifying the signature again")
+                        .register(registry);
+                FunctionCounter.builder("jwt.decoder.cache.misses", decoder, x -> x.stats().missCount())
+                        .description("Tokens whose signature had to be verified")
+                        .register(registry);
+            }
+        };
+    }
+}
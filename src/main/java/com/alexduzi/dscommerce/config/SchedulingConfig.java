@@ -0,0 +1,12 @@
+package com.alexduzi.dscommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the periodic jobs: the product search index refresh and, with the jdbc authorization store, its purge.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
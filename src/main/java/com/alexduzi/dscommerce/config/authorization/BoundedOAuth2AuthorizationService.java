@@ -0,0 +1,192 @@
+package com.alexduzi.dscommerce.config.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory OAuth2AuthorizationService that drops an authorization once all of its tokens have expired
+ * and never holds more than maximumSize entries, evicting the least recently used ones first.
+ * Token values are indexed, so findByToken does not scan the store.
+ */
+public class BoundedOAuth2AuthorizationService implements MeteredOAuth2AuthorizationService {
+
+    private final Cache<String, OAuth2Authorization> authorizations;
+    private final Map<String, String> authorizationIdsByToken = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedOAuth2AuthorizationService(long maximumSize, Duration defaultTimeToLive) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        Assert.notNull(defaultTimeToLive, "defaultTimeToLive cannot be null");
+        // @formatter:off
+        this.authorizations = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new AuthorizationExpiry(defaultTimeToLive))
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+        // @formatter:on
+    }
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        OAuth2Authorization previous = authorizations.getIfPresent(authorization.getId());
+        List<String> tokens = tokenValues(authorization);
+        tokens.forEach(token -> authorizationIdsByToken.put(token, authorization.getId()));
+        authorizations.put(authorization.getId(), authorization);
+        if (previous != null) {
+            tokenValues(previous).stream().filter(token -> !tokens.contains(token)).forEach(token -> authorizationIdsByToken.remove(token, authorization.getId()));
+        }
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        authorizations.invalidate(authorization.getId());
+    }
+
+    @Nullable
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+        return authorizations.getIfPresent(id);
+    }
+
+    @Nullable
+    @Override
+    public OAuth2Authorization findByToken(String token, @Nullable OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+        String id = authorizationIdsByToken.get(token);
+        if (id == null) {
+            return null;
+        }
+        OAuth2Authorization authorization = authorizations.getIfPresent(id);
+        return (authorization != null && hasToken(authorization, token, tokenType)) ? authorization : null;
+    }
+
+    @Override
+    public long size() {
+        authorizations.cleanUp();
+        return authorizations.estimatedSize();
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void onRemoval(String id, OAuth2Authorization authorization, RemovalCause cause) {
+        if (cause == RemovalCause.REPLACED) {
+            return;
+        }
+        if (cause.wasEvicted()) {
+            evictions.increment();
+        }
+        if (authorization != null) {
+            tokenValues(authorization).forEach(token -> authorizationIdsByToken.remove(token, id));
+        }
+    }
+
+    private static List<String> tokenValues(OAuth2Authorization authorization) {
+        List<String> result = new ArrayList<>();
+        String state = authorization.getAttribute(OAuth2ParameterNames.STATE);
+        if (state != null) {
+            result.add(state);
+        }
+        for (OAuth2Authorization.Token<?> token : tokens(authorization)) {
+            if (token != null) {
+                result.add(token.getToken().getTokenValue());
+            }
+        }
+        return result;
+    }
+
+    private static List<OAuth2Authorization.Token<?>> tokens(OAuth2Authorization authorization) {
+        List<OAuth2Authorization.Token<?>> result = new ArrayList<>();
+        result.add(authorization.getToken(OAuth2AuthorizationCode.class));
+        result.add(authorization.getAccessToken());
+        result.add(authorization.getRefreshToken());
+        result.add(authorization.getToken(OidcIdToken.class));
+        return result;
+    }
+
+    private static boolean hasToken(OAuth2Authorization authorization, String token, @Nullable OAuth2TokenType tokenType) {
+        if (tokenType == null) {
+            return tokenValues(authorization).contains(token);
+        }
+        if (OAuth2ParameterNames.STATE.equals(tokenType.getValue())) {
+            return token.equals(authorization.getAttribute(OAuth2ParameterNames.STATE));
+        }
+        if (OAuth2ParameterNames.CODE.equals(tokenType.getValue())) {
+            return matches(authorization.getToken(OAuth2AuthorizationCode.class), token);
+        }
+        if (OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)) {
+            return matches(authorization.getAccessToken(), token);
+        }
+        if (OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+            return matches(authorization.getRefreshToken(), token);
+        }
+        if (OidcParameterNames.ID_TOKEN.equals(tokenType.getValue())) {
+            return matches(authorization.getToken(OidcIdToken.class), token);
+        }
+        return false;
+    }
+
+    private static boolean matches(@Nullable OAuth2Authorization.Token<?> authorizationToken, String token) {
+        return authorizationToken != null && authorizationToken.getToken().getTokenValue().equals(token);
+    }
+
+    private static class AuthorizationExpiry implements Expiry<String, OAuth2Authorization> {
+
+        private final Duration defaultTimeToLive;
+
+        AuthorizationExpiry(Duration defaultTimeToLive) {
+            this.defaultTimeToLive = defaultTimeToLive;
+        }
+
+        @Override
+        public long expireAfterCreate(String id, OAuth2Authorization authorization, long currentTime) {
+            Instant expiresAt = null;
+            for (OAuth2Authorization.Token<?> token : tokens(authorization)) {
+                if (token == null) {
+                    continue;
+                }
+                OAuth2Token value = token.getToken();
+                if (value.getExpiresAt() != null && (expiresAt == null || value.getExpiresAt().isAfter(expiresAt))) {
+                    expiresAt = value.getExpiresAt();
+                }
+            }
+            Duration timeToLive = (expiresAt != null) ? Duration.between(Instant.now(), expiresAt) : defaultTimeToLive;
+            return Math.max(0L, timeToLive.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, OAuth2Authorization authorization, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, authorization, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, OAuth2Authorization authorization, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
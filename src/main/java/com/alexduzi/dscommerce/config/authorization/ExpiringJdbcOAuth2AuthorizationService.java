@@ -0,0 +1,72 @@
+package com.alexduzi.dscommerce.config.authorization;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.util.Assert;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JDBC-backed OAuth2AuthorizationService shared by every node, using the oauth2_authorization table of
+ * Spring Authorization Server (classpath:org/springframework/security/oauth2/server/authorization/oauth2-authorization-schema.sql).
+ * A periodic purge deletes the authorizations whose tokens have all expired and then the oldest rows above maximumSize,
+ * found through the index of classpath:oauth2-authorization-indexes.sql. The size reported to metrics is the row
+ * count seen by the last purge, so scrapes don't query the table.
+ */
+public class ExpiringJdbcOAuth2AuthorizationService extends JdbcOAuth2AuthorizationService implements MeteredOAuth2AuthorizationService {
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM oauth2_authorization"
+            + " WHERE (authorization_code_expires_at IS NULL OR authorization_code_expires_at < ?)"
+            + " AND (access_token_expires_at IS NULL OR access_token_expires_at < ?)"
+            + " AND (refresh_token_expires_at IS NULL OR refresh_token_expires_at < ?)";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM oauth2_authorization";
+
+    private static final String OLDEST_IDS_SQL = "SELECT id FROM oauth2_authorization ORDER BY access_token_issued_at ASC FETCH FIRST ? ROWS ONLY";
+
+    private static final String DELETE_BY_ID_SQL = "DELETE FROM oauth2_authorization WHERE id = ?";
+
+    private final JdbcOperations jdbcOperations;
+    private final long maximumSize;
+    private final LongAdder evictions = new LongAdder();
+    private volatile long size;
+
+    public ExpiringJdbcOAuth2AuthorizationService(JdbcOperations jdbcOperations, RegisteredClientRepository registeredClientRepository, long maximumSize) {
+        super(jdbcOperations, registeredClientRepository);
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        this.jdbcOperations = jdbcOperations;
+        this.maximumSize = maximumSize;
+    }
+
+    @Scheduled(fixedDelayString = "${security.authorization-store.purge-interval}")
+    public void purge() {
+        Timestamp now = Timestamp.from(Instant.now());
+        evictions.add(jdbcOperations.update(DELETE_EXPIRED_SQL, now, now, now));
+
+        Long count = jdbcOperations.queryForObject(COUNT_SQL, Long.class);
+        long remaining = (count != null) ? count : 0L;
+        long excess = remaining - maximumSize;
+        if (excess > 0) {
+            List<Object[]> ids = jdbcOperations.query(OLDEST_IDS_SQL, (rs, rowNum) -> new Object[]{rs.getString(1)}, excess);
+            jdbcOperations.batchUpdate(DELETE_BY_ID_SQL, ids);
+            evictions.add(ids.size());
+            remaining -= ids.size();
+        }
+        size = remaining;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,10 @@
+package com.alexduzi.dscommerce.config.authorization;
+
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+
+public interface MeteredOAuth2AuthorizationService extends OAuth2AuthorizationService {
+
+    long size();
+
+    long evictionCount();
+}
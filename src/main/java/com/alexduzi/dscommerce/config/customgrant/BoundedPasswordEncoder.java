@@ -0,0 +1,105 @@
+package com.alexduzi.dscommerce.config.customgrant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password verification on a fixed number of threads with a bounded queue, so a burst of logins
+ * cannot occupy every request thread with hashing. When the queue is full, or a verification waits longer
+ * than the timeout, matches throws RejectedExecutionException instead of blocking.
+ * It only verifies, and is deliberately not a PasswordEncoder: a second PasswordEncoder bean would make the
+ * authorization server's client secret check ambiguous.
+ */
+public class BoundedPasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout, MeterRegistry registry) {
+        Assert.notNull(delegate, "delegate cannot be null");
+        Assert.isTrue(threads > 0, "threads must be greater than zero");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than zero");
+        this.delegate = delegate;
+        this.timeout = timeout;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        // @formatter:off
+        Gauge.builder("auth.password.queue.size", executor, x -> x.getQueue().size())
+                .description("Password verifications waiting for a thread")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password verifications running")
+                .register(registry);
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .description("Time spent verifying a password hash")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.rejections = Counter.builder("auth.password.rejected")
+                .description("Password verifications rejected because the executor was saturated")
+                .register(registry);
+        // @formatter:on
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> hashTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw e;
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejections.increment();
+            throw new RejectedExecutionException("Password verification timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new RejectedExecutionException("Password verification interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Lets queued verifications finish for up to the timeout, then interrupts the rest.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
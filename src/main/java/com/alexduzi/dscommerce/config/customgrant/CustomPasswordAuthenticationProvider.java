@@ -1,13 +1,15 @@
 package com.alexduzi.dscommerce.config.customgrant;
 
+import com.alexduzi.dscommerce.entities.User;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.*;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
@@ -23,7 +25,9 @@ import org.springframework.util.Assert;
 
 import java.security.Principal;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 public class CustomPasswordAuthenticationProvider implements AuthenticationProvider {
@@ -32,14 +36,14 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
     private final OAuth2AuthorizationService authorizationService;
     private final UserDetailsService userDetailsService;
     private final OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
     private String username = "";
     private String password = "";
     private Set<String> authorizedScopes = new HashSet<>();
 
     public CustomPasswordAuthenticationProvider(OAuth2AuthorizationService authorizationService,
                                                 OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator,
-                                                UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+                                                UserDetailsService userDetailsService, BoundedPasswordEncoder passwordEncoder) {
 
         Assert.notNull(authorizationService, "authorizationService cannot be null");
         Assert.notNull(tokenGenerator, "TokenGenerator cannot be null");
@@ -67,7 +71,16 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
             throw new OAuth2AuthenticationException("Invalid credentials");
         }
 
-        if (!passwordEncoder.matches(password, user.getPassword()) || !user.getUsername().equals(username)) {
+        boolean passwordMatches;
+        try {
+            passwordMatches = passwordEncoder.matches(password, user.getPassword());
+        } catch (RejectedExecutionException e) {
+            OAuth2Error error = new OAuth2Error(OAuth2ErrorCodes.TEMPORARILY_UNAVAILABLE,
+                    "Too many concurrent logins, try again later.", ERROR_URI);
+            throw new OAuth2AuthenticationException(error);
+        }
+
+        if (!passwordMatches || !user.getUsername().equals(username)) {
             throw new OAuth2AuthenticationException("Invalid credentials");
         }
 
@@ -76,27 +89,29 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
                 .filter(scope -> registeredClient.getScopes().contains(scope))
                 .collect(Collectors.toSet());
 
-        //-----------Create a new Security Context Holder Context----------
-        OAuth2ClientAuthenticationToken oAuth2ClientAuthenticationToken = (OAuth2ClientAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
-        CustomUserAuthorities customPasswordUser = new CustomUserAuthorities(username, user.getAuthorities());
-        oAuth2ClientAuthenticationToken.setDetails(customPasswordUser);
-
-        var newcontext = SecurityContextHolder.createEmptyContext();
-        newcontext.setAuthentication(oAuth2ClientAuthenticationToken);
-        SecurityContextHolder.setContext(newcontext);
+        //-----------USER PRINCIPAL----------
+        // only types the JDBC authorization store can deserialize, since refresh_token grants read it back
+        List<GrantedAuthority> authorities = user.getAuthorities().stream()
+                .map(authority -> (GrantedAuthority) new SimpleGrantedAuthority(authority.getAuthority()))
+                .collect(Collectors.toList());
+        UsernamePasswordAuthenticationToken userPrincipal = UsernamePasswordAuthenticationToken.authenticated(user.getUsername(), null, authorities);
+        if (user instanceof User entity) {
+            // a String, since the Jackson allowlist of the JDBC store rejects Long in the details and the claims
+            userPrincipal.setDetails(String.valueOf(entity.getId()));
+        }
 
         //-----------TOKEN BUILDERS----------
         DefaultOAuth2TokenContext.Builder tokenContextBuilder = DefaultOAuth2TokenContext.builder()
                 .registeredClient(registeredClient)
-                .principal(clientPrincipal)
+                .principal(userPrincipal)
                 .authorizationServerContext(AuthorizationServerContextHolder.getContext())
                 .authorizedScopes(authorizedScopes)
                 .authorizationGrantType(new AuthorizationGrantType("password"))
                 .authorizationGrant(customPasswordAuthenticationToken);
 
         OAuth2Authorization.Builder authorizationBuilder = OAuth2Authorization.withRegisteredClient(registeredClient)
-                .attribute(Principal.class.getName(), clientPrincipal)
-                .principalName(clientPrincipal.getName())
+                .attribute(Principal.class.getName(), userPrincipal)
+                .principalName(userPrincipal.getName())
                 .authorizationGrantType(new AuthorizationGrantType("password"))
                 .authorizedScopes(authorizedScopes);
 
@@ -119,10 +134,24 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
             authorizationBuilder.accessToken(accessToken);
         }
 
+        //-----------REFRESH TOKEN----------
+        OAuth2RefreshToken refreshToken = null;
+        if (registeredClient.getAuthorizationGrantTypes().contains(AuthorizationGrantType.REFRESH_TOKEN)) {
+            tokenContext = tokenContextBuilder.tokenType(OAuth2TokenType.REFRESH_TOKEN).build();
+            OAuth2Token generatedRefreshToken = this.tokenGenerator.generate(tokenContext);
+            if (!(generatedRefreshToken instanceof OAuth2RefreshToken)) {
+                OAuth2Error error = new OAuth2Error(OAuth2ErrorCodes.SERVER_ERROR,
+                        "The token generator failed to generate the refresh token.", ERROR_URI);
+                throw new OAuth2AuthenticationException(error);
+            }
+            refreshToken = (OAuth2RefreshToken) generatedRefreshToken;
+            authorizationBuilder.refreshToken(refreshToken);
+        }
+
         OAuth2Authorization authorization = authorizationBuilder.build();
         this.authorizationService.save(authorization);
 
-        return new OAuth2AccessTokenAuthenticationToken(registeredClient, clientPrincipal, accessToken);
+        return new OAuth2AccessTokenAuthenticationToken(registeredClient, clientPrincipal, accessToken, refreshToken);
     }
 
     @Override
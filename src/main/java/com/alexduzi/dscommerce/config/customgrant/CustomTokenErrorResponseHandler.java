@@ -0,0 +1,42 @@
+package com.alexduzi.dscommerce.config.customgrant;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.http.converter.OAuth2ErrorHttpMessageConverter;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+
+import java.io.IOException;
+
+/**
+ * Token endpoint error response: 400 with the OAuth2 error body, as the default handler does,
+ * except temporarily_unavailable which is answered with 503 and a Retry-After header.
+ */
+public class CustomTokenErrorResponseHandler implements AuthenticationFailureHandler {
+
+    private final OAuth2ErrorHttpMessageConverter errorHttpResponseConverter = new OAuth2ErrorHttpMessageConverter();
+    private final String retryAfterSeconds;
+
+    public CustomTokenErrorResponseHandler(long retryAfterSeconds) {
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response, AuthenticationException exception) throws IOException {
+        OAuth2Error error = ((OAuth2AuthenticationException) exception).getError();
+        ServletServerHttpResponse httpResponse = new ServletServerHttpResponse(response);
+        if (OAuth2ErrorCodes.TEMPORARILY_UNAVAILABLE.equals(error.getErrorCode())) {
+            httpResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            httpResponse.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        } else {
+            httpResponse.setStatusCode(HttpStatus.BAD_REQUEST);
+        }
+        errorHttpResponseConverter.write(error, null, httpResponse);
+    }
+}
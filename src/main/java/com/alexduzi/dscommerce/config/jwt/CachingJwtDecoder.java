@@ -0,0 +1,92 @@
+package com.alexduzi.dscommerce.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * JwtDecoder that remembers successfully decoded tokens until they expire, so signature verification and
+ * claim validation run once per token instead of once per request. Entries are keyed by the SHA-256 of the
+ * token, so the cache never holds bearer tokens. Only the immutable Jwt is cached: the Authentication built
+ * from it is mutated by the filter chain and is still created per request.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> jwts;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+        Assert.notNull(delegate, "delegate cannot be null");
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        this.delegate = delegate;
+        // @formatter:off
+        this.jwts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new JwtExpiry())
+                .recordStats()
+                .build();
+        // @formatter:on
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt jwt = jwts.getIfPresent(key);
+        if (jwt != null) {
+            return jwt;
+        }
+
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())) {
+            jwts.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    public long size() {
+        return jwts.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return jwts.stats();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class JwtExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
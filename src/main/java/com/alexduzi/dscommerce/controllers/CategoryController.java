@@ -1,14 +1,13 @@
 package com.alexduzi.dscommerce.controllers;
 
-import com.alexduzi.dscommerce.dto.CategoryDTO;
+import com.alexduzi.dscommerce.config.CacheConfig;
 import com.alexduzi.dscommerce.services.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(value = "/categories")
@@ -17,9 +16,11 @@ public class CategoryController {
     @Autowired
     private CategoryService service;
 
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> findAll() {
-        List<CategoryDTO> dto = service.findAll();
-        return ResponseEntity.ok(dto);
+    public ResponseEntity<byte[]> findAll(WebRequest request) {
+        return jsonResponseCache.get(CacheConfig.CATEGORY_JSON, "all", request, service::findAll);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.alexduzi.dscommerce.controllers;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strong entity tags, built either from the serialized response body or from a key of the versions of
+ * every entity embedded in it. A version key lets a handler answer If-None-Match before loading the body.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    static String of(String versions) {
+        return of(versions.getBytes(StandardCharsets.UTF_8));
+    }
+}
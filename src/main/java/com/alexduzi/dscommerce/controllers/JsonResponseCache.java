@@ -0,0 +1,125 @@
+package com.alexduzi.dscommerce.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches response bodies as serialized UTF-8 JSON, plus a gzip variant, so hot reads are written without
+ * going through Jackson. Each variant has its own strong ETag, and a matching If-None-Match gets a 304.
+ * Responses are sent with Cache-Control: no-cache, so clients keep them but revalidate before every reuse.
+ * Entries are loaded atomically per key, so an eviction made while a load is running waits for it and removes
+ * what it stored instead of letting a body read before the write stay cached.
+ */
+@Component
+class JsonResponseCache {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    ResponseEntity<byte[]> get(String cacheName, Object key, WebRequest request, Supplier<?> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Entry entry;
+        try {
+            entry = cache.get(key, () -> serialize(loader.get()));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        // @formatter:off
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        // @formatter:on
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").eTag(entry.gzipETag).body(entry.gzip);
+        }
+        return response.eTag(entry.eTag).body(entry.json);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return quality > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality > 0;
+            }
+        }
+        return wildcard != null && wildcard;
+    }
+
+    private Entry serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Entry(json, gzip(json), ETags.of(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(result)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toByteArray();
+    }
+
+    private static class Entry {
+
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String eTag;
+        private final String gzipETag;
+
+        Entry(byte[] json, byte[] gzip, String eTag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.eTag = eTag;
+            this.gzipETag = eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+        }
+    }
+}
@@ -4,9 +4,12 @@ import com.alexduzi.dscommerce.dto.OrderDTO;
 import com.alexduzi.dscommerce.services.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -20,10 +23,15 @@ public class OrderController {
 
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLIENT')")
     @GetMapping(value = "/{id}")
-    public ResponseEntity<OrderDTO> findById(@PathVariable Long id) {
+    public ResponseEntity<OrderDTO> findById(@PathVariable Long id, WebRequest request) {
+        String eTag = ETags.of(service.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).build();
+        }
+
         OrderDTO result = service.findById(id);
 
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(eTag).body(result);
     }
 
     @PreAuthorize("hasRole('ROLE_CLIENT')")
@@ -1,5 +1,8 @@
 package com.alexduzi.dscommerce.controllers;
 
+import com.alexduzi.dscommerce.config.CacheConfig;
+import com.alexduzi.dscommerce.dto.CursorPageDTO;
+import com.alexduzi.dscommerce.dto.ProductBatchItemDTO;
 import com.alexduzi.dscommerce.dto.ProductDTO;
 import com.alexduzi.dscommerce.dto.ProductMinDTO;
 import com.alexduzi.dscommerce.services.ProductService;
@@ -7,13 +10,16 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -22,19 +28,42 @@ public class ProductController {
     @Autowired
     private ProductService service;
 
-    @GetMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-        ProductDTO result = service.findById(id);
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
 
-        return ResponseEntity.ok(result);
+    @GetMapping(value = "/{id}")
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request) {
+        return jsonResponseCache.get(CacheConfig.PRODUCT_JSON, id, request, () -> service.findById(id));
     }
 
-    @GetMapping
+    // the list modes are mutually exclusive, a request mixing ids, after and slice=true matches no handler and gets a 400
+    @GetMapping(params = {"!ids", "!after", "slice!=true"})
     public ResponseEntity<Page<ProductMinDTO>> findAll(@RequestParam(name = "name", defaultValue = "") String name, Pageable pageable) {
         Page<ProductMinDTO> dto = service.findAll(name, pageable);
         return ResponseEntity.ok(dto);
     }
 
+    @GetMapping(params = {"ids", "!after", "slice!=true"})
+    public ResponseEntity<List<ProductBatchItemDTO>> findAllByIds(@RequestParam(name = "ids") List<Long> ids) {
+        List<ProductBatchItemDTO> dto = service.findAllByIds(ids);
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping(params = {"slice=true", "!ids", "!after"})
+    public ResponseEntity<Slice<ProductMinDTO>> findAllSlice(@RequestParam(name = "name", defaultValue = "") String name, Pageable pageable) {
+        Slice<ProductMinDTO> dto = service.findAllSlice(name, pageable);
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping(params = {"after", "!ids", "slice!=true"})
+    public ResponseEntity<CursorPageDTO<ProductMinDTO>> findAllByCursor(@RequestParam(name = "name", defaultValue = "") String name,
+                                                                       @RequestParam(name = "after") String after,
+                                                                       @RequestParam(name = "size", defaultValue = "20") Integer size,
+                                                                       @RequestParam(name = "sort", defaultValue = "id") String sort) {
+        CursorPageDTO<ProductMinDTO> dto = service.findAllByCursor(name, after, size, sort);
+        return ResponseEntity.ok(dto);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping
     public ResponseEntity<ProductDTO> insert(@Valid @RequestBody ProductDTO productDTO) {
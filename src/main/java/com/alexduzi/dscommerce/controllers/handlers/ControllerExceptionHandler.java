@@ -3,6 +3,7 @@ package com.alexduzi.dscommerce.controllers.handlers;
 import com.alexduzi.dscommerce.dto.CustomError;
 import com.alexduzi.dscommerce.dto.CustomErrorDTO;
 import com.alexduzi.dscommerce.dto.ValidationError;
+import com.alexduzi.dscommerce.services.exceptions.BadRequestException;
 import com.alexduzi.dscommerce.services.exceptions.DatabaseException;
 import com.alexduzi.dscommerce.services.exceptions.ForbiddenException;
 import com.alexduzi.dscommerce.services.exceptions.ResourceNotFoundException;
@@ -37,6 +38,13 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<CustomError> badRequest(BadRequestException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        CustomError error = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomError> methodArgumentNotValid(MethodArgumentNotValidException e, HttpServletRequest request) {
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
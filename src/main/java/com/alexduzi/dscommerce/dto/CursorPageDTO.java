@@ -0,0 +1,33 @@
+package com.alexduzi.dscommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+    private List<T> content = new ArrayList<>();
+    private Integer size;
+    private String nextCursor;
+
+    public CursorPageDTO() {
+
+    }
+
+    public CursorPageDTO(List<T> content, Integer size, String nextCursor) {
+        this.content.addAll(content);
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.alexduzi.dscommerce.dto;
+
+public class ProductBatchItemDTO {
+
+    private Long id;
+    private ProductDTO product;
+    private String error;
+
+    public ProductBatchItemDTO() {
+
+    }
+
+    public ProductBatchItemDTO(Long id, ProductDTO product, String error) {
+        this.id = id;
+        this.product = product;
+        this.error = error;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ProductDTO getProduct() {
+        return product;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
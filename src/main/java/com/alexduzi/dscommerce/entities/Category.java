@@ -5,24 +5,38 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(CategoryCacheEvictionListener.class)
 @Table(name = "tb_category")
 public class Category implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+	@SequenceGenerator(name = "category_seq", sequenceName = "tb_category_seq", allocationSize = 50)
 	private Long id;
 	private String name;
 
+	@Version
+	@Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+	private Integer version;
+
 	@ManyToMany(mappedBy = "categories")
 	private Set<Product> products = new HashSet<>();
 
@@ -51,6 +65,10 @@ public class Category implements Serializable {
 		this.name = name;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
 	public Set<Product> getProducts() {
 		return products;
 	}
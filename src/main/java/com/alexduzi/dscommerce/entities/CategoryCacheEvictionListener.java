@@ -0,0 +1,28 @@
+package com.alexduzi.dscommerce.entities;
+
+import com.alexduzi.dscommerce.config.CacheConfig;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Clears the cached category list, and the cached products that embed category names, whenever a category
+ * is written through JPA. Created by Hibernate through Spring's bean container; the transaction-aware
+ * cache manager applies the eviction once the transaction commits.
+ */
+public class CategoryCacheEvictionListener {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(Category category) {
+        for (String cacheName : new String[]{CacheConfig.CATEGORY_JSON, CacheConfig.PRODUCT_JSON, CacheConfig.PRODUCTS}) {
+            cacheManager.getCache(cacheName).clear();
+        }
+    }
+}
@@ -16,7 +16,8 @@ public class Order implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "tb_order_seq", allocationSize = 50)
     private Long id;
 
     @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
@@ -31,9 +32,13 @@ public class Order implements Serializable {
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
     private Payment payment;
 
-    @OneToMany(mappedBy = "id.order")
+    @OneToMany(mappedBy = "id.order", cascade = CascadeType.PERSIST)
     private Set<OrderItem> items = new HashSet<>();
 
+    @Version
+    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private Integer version;
+
     public Order() {
 
     }
@@ -89,6 +94,10 @@ public class Order implements Serializable {
         this.payment = payment;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
     public Set<OrderItem> getItems() {
         return items;
     }
@@ -11,20 +11,31 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "tb_product")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "tb_product", indexes = {
+		@Index(name = "idx_product_name_id", columnList = "name, id"),
+		@Index(name = "idx_product_price_id", columnList = "price, id")
+})
 public class Product implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+	@SequenceGenerator(name = "product_seq", sequenceName = "tb_product_seq", allocationSize = 50)
 	private Long id;
 
 	private String name;
@@ -34,7 +45,12 @@ public class Product implements Serializable {
 	private Double price;
 	private String imgUrl;
 
+	@Version
+	@Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+	private Integer version;
+
 	@ManyToMany
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@JoinTable(name = "tb_product_category", joinColumns = @JoinColumn(name = "product_id"), inverseJoinColumns = @JoinColumn(name = "category_id"))
 	private Set<Category> categories = new HashSet<>();
 
@@ -93,6 +109,10 @@ public class Product implements Serializable {
 		this.imgUrl = imgUrl;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
 	public Set<Category> getCategories() {
 		return categories;
 	}
@@ -0,0 +1,9 @@
+package com.alexduzi.dscommerce.projections;
+
+public interface OrderVersionProjection {
+    Long getClientId();
+    Integer getVersion();
+    Long getPaymentId();
+    Long getProductId();
+    Integer getProductVersion();
+}
@@ -0,0 +1,6 @@
+package com.alexduzi.dscommerce.projections;
+
+public interface ProductNameProjection {
+    Long getId();
+    String getName();
+}
@@ -1,6 +1,7 @@
 package com.alexduzi.dscommerce.projections;
 
 public interface UserDetailsProjection {
+    Long getUserId();
     String getUsername();
     String getPassword();
     Long getRoleId();
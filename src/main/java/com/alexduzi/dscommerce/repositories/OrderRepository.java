@@ -1,7 +1,28 @@
 package com.alexduzi.dscommerce.repositories;
 
 import com.alexduzi.dscommerce.entities.Order;
+import com.alexduzi.dscommerce.projections.OrderVersionProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @Query("SELECT obj FROM Order obj "
+            + "JOIN FETCH obj.client "
+            + "LEFT JOIN FETCH obj.payment "
+            + "LEFT JOIN FETCH obj.items item "
+            + "LEFT JOIN FETCH item.id.product "
+            + "WHERE obj.id = :id")
+    Optional<Order> searchWithItemsById(Long id);
+
+    @Query("SELECT obj.client.id AS clientId, obj.version AS version, payment.id AS paymentId, "
+            + "product.id AS productId, product.version AS productVersion FROM Order obj "
+            + "LEFT JOIN obj.payment payment "
+            + "LEFT JOIN obj.items item "
+            + "LEFT JOIN item.id.product product "
+            + "WHERE obj.id = :id ORDER BY product.id")
+    List<OrderVersionProjection> searchVersionsById(Long id);
 }
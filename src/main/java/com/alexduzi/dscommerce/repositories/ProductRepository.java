@@ -1,15 +1,55 @@
 package com.alexduzi.dscommerce.repositories;
 
+import com.alexduzi.dscommerce.dto.ProductMinDTO;
 import com.alexduzi.dscommerce.entities.Product;
-import org.springframework.data.domain.Page;
+import com.alexduzi.dscommerce.projections.ProductNameProjection;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    @Query("SELECT new com.alexduzi.dscommerce.dto.ProductMinDTO(obj.id, obj.name, obj.price, obj.imgUrl) "
+            + "FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name,'%')) ESCAPE '!'")
+    Slice<ProductMinDTO> searchSliceByName(String name, Pageable pageable);
+
+    @Query("SELECT COUNT(obj) FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name,'%')) ESCAPE '!'")
+    long countByName(String name);
+
+    @Query("SELECT new com.alexduzi.dscommerce.dto.ProductMinDTO(obj.id, obj.name, obj.price, obj.imgUrl) "
+            + "FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name,'%')) ESCAPE '!'")
+    List<ProductMinDTO> searchByNameFromStart(String name, Pageable pageable);
+
+    @Query("SELECT new com.alexduzi.dscommerce.dto.ProductMinDTO(obj.id, obj.name, obj.price, obj.imgUrl) "
+            + "FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name,'%')) ESCAPE '!' AND obj.id > :id")
+    List<ProductMinDTO> searchByNameAfterId(String name, Long id, Pageable pageable);
+
+    @Query("SELECT new com.alexduzi.dscommerce.dto.ProductMinDTO(obj.id, obj.name, obj.price, obj.imgUrl) "
+            + "FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name,'%')) ESCAPE '!' "
+            + "AND (obj.name > :value OR (obj.name = :value AND obj.id > :id))")
+    List<ProductMinDTO> searchByNameAfterName(String name, String value, Long id, Pageable pageable);
+
+    @Query("SELECT new com.alexduzi.dscommerce.dto.ProductMinDTO(obj.id, obj.name, obj.price, obj.imgUrl) "
+            + "FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name,'%')) ESCAPE '!' "
+            + "AND (obj.price > :value OR (obj.price = :value AND obj.id > :id))")
+    List<ProductMinDTO> searchByNameAfterPrice(String name, Double value, Long id, Pageable pageable);
+
+    @Query("SELECT new com.alexduzi.dscommerce.dto.ProductMinDTO(obj.id, obj.name, obj.price, obj.imgUrl) "
+            + "FROM Product obj WHERE obj.id IN :ids")
+    List<ProductMinDTO> searchByIds(Collection<Long> ids, Pageable pageable);
+
+    @Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+    List<Product> searchWithCategoriesByIds(Collection<Long> ids);
+
+    @Query("SELECT obj.id AS id, obj.name AS name FROM Product obj ORDER BY obj.id")
+    List<ProductNameProjection> searchAllNames();
 
-    @Query("SELECT obj FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name,'%'))")
-    Page<Product> searchByName(String name, Pageable pegeable);
-}
\ No newline at end of file
+    @Query("SELECT str(COUNT(obj)) || ':' || str(COALESCE(SUM(obj.version), 0)) || ':' || str(COALESCE(MAX(obj.id), 0)) FROM Product obj")
+    String searchChangeSignature();
+}
@@ -0,0 +1,14 @@
+package com.alexduzi.dscommerce.repositories;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Sorts and pages the given product ids in the database, however many there are.
+     * The sort properties of the pageable must be tb_product column names.
+     */
+    List<Long> searchPageIdsByIds(List<Long> ids, Pageable pageable);
+}
@@ -0,0 +1,55 @@
+package com.alexduzi.dscommerce.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Binds the ids as array parameters joined through UNNEST, instead of one bind parameter per id.
+ * H2 limits an array to 65536 elements, so longer id lists are split into several arrays; the explicit
+ * cast is needed for H2 to type the elements of an array parameter inside a UNION.
+ */
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final int MAX_ARRAY_LENGTH = 65536;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> searchPageIdsByIds(List<Long> ids, Pageable pageable) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        StringJoiner matched = new StringJoiner(" UNION ALL ");
+        List<Long[]> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_ARRAY_LENGTH) {
+            chunks.add(ids.subList(from, Math.min(from + MAX_ARRAY_LENGTH, ids.size())).toArray(new Long[0]));
+            matched.add("SELECT CAST(id AS BIGINT) AS id FROM UNNEST(?" + chunks.size() + ") AS chunk(id)");
+        }
+
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "").setEmptyValue("");
+        for (Sort.Order order : pageable.getSort()) {
+            orderBy.add("obj." + order.getProperty() + (order.isAscending() ? " ASC" : " DESC"));
+        }
+
+        Query query = entityManager.createNativeQuery("SELECT obj.id FROM tb_product obj JOIN (" + matched
+                + ") matched ON obj.id = matched.id" + orderBy, Long.class);
+        for (int i = 0; i < chunks.size(); i++) {
+            query.setParameter(i + 1, chunks.get(i));
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,247 @@
+package com.alexduzi.dscommerce.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Bulk-loads a production-sized catalog, user base and order history on top of import.sql (profile "seed").
+ * Rows are generated from a seeded Random and written with batched JDBC, so the same seed.* properties always
+ * produce the same data. Ids continue after the highest existing id and the entity sequences are restarted
+ * after the load, so the application keeps inserting normally. Runs before ApplicationReadyEvent, so the
+ * product search index is built over the generated catalog.
+ */
+@Component
+@Profile("seed")
+public class DataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final String PASSWORD_123456 = "$2a$10$M44yCkoDAWsMbhWa4K2JV.lDNVAJEJPTqeW6LppBR0SszAx2uVV0C";
+    private static final long ROLE_CLIENT = 1L;
+    private static final long ROLE_ADMIN = 2L;
+    private static final Instant HISTORY_END = Instant.parse("2024-01-01T00:00:00Z");
+    private static final long HISTORY_DAYS = 730;
+
+    private static final String[] PRODUCT_TYPES = {"Smart TV", "Notebook", "PC Gamer", "Monitor", "Mouse", "Teclado", "Headset",
+            "Smartphone", "Tablet", "Cadeira Gamer", "Livro", "Console", "Impressora", "Roteador", "Caixa de Som", "Webcam"};
+    private static final String[] PRODUCT_MODIFIERS = {"Pro", "Max", "Ultra", "Lite", "Plus", "Slim", "Turbo", "Air", "Mini", "Prime"};
+    private static final String[] FIRST_NAMES = {"Maria", "Alex", "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Hugo", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia", "Tiago"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa", "Rodrigues",
+            "Almeida", "Nascimento", "Araújo", "Fernandes", "Carvalho", "Gomes", "Martins", "Brown", "Green"};
+    private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt "
+            + "ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+
+    @Value("${seed.random-seed}")
+    private Long randomSeed;
+
+    @Value("${seed.categories}")
+    private Integer categoryCount;
+
+    @Value("${seed.products}")
+    private Integer productCount;
+
+    @Value("${seed.users}")
+    private Integer userCount;
+
+    @Value("${seed.orders}")
+    private Integer orderCount;
+
+    @Value("${seed.items-per-order}")
+    private Integer itemsPerOrder;
+
+    @Value("${seed.batch-size}")
+    private Integer batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Random random;
+
+    @Override
+    public void run(String... args) {
+        random = new Random(randomSeed);
+        long start = System.nanoTime();
+
+        long firstCategoryId = nextId("tb_category");
+        long lastCategoryId = firstCategoryId + categoryCount - 1;
+        insertCategories(firstCategoryId);
+
+        long firstProductId = nextId("tb_product");
+        long lastProductId = firstProductId + productCount - 1;
+        double[] prices = insertProducts(firstProductId, firstCategoryId, lastCategoryId);
+
+        long firstUserId = nextId("tb_user");
+        long lastUserId = firstUserId + userCount - 1;
+        insertUsers(firstUserId);
+
+        long firstOrderId = nextId("tb_order");
+        long lastOrderId = firstOrderId + orderCount - 1;
+        if (productCount > 0 && userCount > 0) {
+            insertOrders(firstOrderId, firstUserId, firstProductId, prices);
+        } else {
+            lastOrderId = firstOrderId - 1;
+        }
+
+        restartSequence("tb_category_seq", lastCategoryId + 1);
+        restartSequence("tb_product_seq", lastProductId + 1);
+        restartSequence("tb_user_seq", lastUserId + 1);
+        restartSequence("tb_order_seq", lastOrderId + 1);
+
+        logger.info("Seeded {} categories, {} products, {} users and {} orders in {} s", categoryCount, productCount, userCount,
+                lastOrderId - firstOrderId + 1, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private void insertCategories(long firstId) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            rows.add(new Object[]{firstId + i, "Categoria " + (firstId + i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_category (id, name) VALUES (?, ?)", rows);
+    }
+
+    private double[] insertProducts(long firstId, long firstCategoryId, long lastCategoryId) {
+        double[] prices = new double[productCount];
+        List<Object[]> products = new ArrayList<>(batchSize);
+        List<Object[]> categories = new ArrayList<>(batchSize * 2);
+        for (int i = 0; i < productCount; i++) {
+            long id = firstId + i;
+            String type = pick(PRODUCT_TYPES);
+            String name = type + " " + pick(PRODUCT_MODIFIERS) + " " + (char) ('A' + random.nextInt(26)) + random.nextInt(1000);
+            prices[i] = Math.round((10.0 + random.nextDouble() * 4990.0) * 100.0) / 100.0;
+            products.add(new Object[]{id, name, prices[i], DESCRIPTION, "https://img.dscommerce.com/products/" + id + ".jpg"});
+
+            if (categoryCount > 0) {
+                Set<Long> categoryIds = new HashSet<>();
+                int count = 1 + random.nextInt(Math.min(3, categoryCount));
+                while (categoryIds.size() < count) {
+                    categoryIds.add(firstCategoryId + random.nextInt((int) (lastCategoryId - firstCategoryId + 1)));
+                }
+                categoryIds.forEach(categoryId -> categories.add(new Object[]{id, categoryId}));
+            }
+
+            if (products.size() == batchSize) {
+                flushProducts(products, categories);
+            }
+        }
+        flushProducts(products, categories);
+        return prices;
+    }
+
+    private void flushProducts(List<Object[]> products, List<Object[]> categories) {
+        jdbcTemplate.batchUpdate("INSERT INTO tb_product (id, name, price, description, img_url) VALUES (?, ?, ?, ?, ?)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)", categories);
+        products.clear();
+        categories.clear();
+    }
+
+    private void insertUsers(long firstId) {
+        List<Object[]> users = new ArrayList<>(batchSize);
+        List<Object[]> roles = new ArrayList<>(batchSize);
+        for (int i = 0; i < userCount; i++) {
+            long id = firstId + i;
+            String name = pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+            LocalDate birthDate = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20000));
+            String phone = String.valueOf(900000000 + random.nextInt(100000000));
+            users.add(new Object[]{id, name, "user" + id + "@dscommerce.com", phone, PASSWORD_123456, Date.valueOf(birthDate)});
+            roles.add(new Object[]{id, ROLE_CLIENT});
+            if (i % 1000 == 0) {
+                roles.add(new Object[]{id, ROLE_ADMIN});
+            }
+
+            if (users.size() == batchSize) {
+                flushUsers(users, roles);
+            }
+        }
+        flushUsers(users, roles);
+    }
+
+    private void flushUsers(List<Object[]> users, List<Object[]> roles) {
+        jdbcTemplate.batchUpdate("INSERT INTO tb_user (id, name, email, phone, password, birth_date) VALUES (?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)", roles);
+        users.clear();
+        roles.clear();
+    }
+
+    private void insertOrders(long firstId, long firstUserId, long firstProductId, double[] prices) {
+        List<Object[]> orders = new ArrayList<>(batchSize);
+        List<Object[]> items = new ArrayList<>(batchSize * itemsPerOrder);
+        List<Object[]> payments = new ArrayList<>(batchSize);
+        int maxItems = Math.max(1, Math.min(2 * itemsPerOrder - 1, productCount));
+        for (int i = 0; i < orderCount; i++) {
+            long id = firstId + i;
+            Instant moment = HISTORY_END.minus(random.nextInt((int) HISTORY_DAYS * 24 * 60), ChronoUnit.MINUTES);
+            int status = orderStatus();
+            orders.add(new Object[]{id, Timestamp.from(moment), status, firstUserId + random.nextInt(userCount)});
+
+            Set<Integer> productIndexes = new HashSet<>();
+            int count = 1 + random.nextInt(maxItems);
+            while (productIndexes.size() < count) {
+                productIndexes.add(random.nextInt(productCount));
+            }
+            for (Integer index : productIndexes) {
+                items.add(new Object[]{id, firstProductId + index, 1 + random.nextInt(5), prices[index]});
+            }
+
+            if (status != 0 && status != 4) {
+                payments.add(new Object[]{id, Timestamp.from(moment.plus(1 + random.nextInt(48), ChronoUnit.HOURS))});
+            }
+
+            if (orders.size() == batchSize) {
+                flushOrders(orders, items, payments);
+            }
+        }
+        flushOrders(orders, items, payments);
+    }
+
+    private void flushOrders(List<Object[]> orders, List<Object[]> items, List<Object[]> payments) {
+        jdbcTemplate.batchUpdate("INSERT INTO tb_order (id, moment, status, client_id) VALUES (?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO tb_payment (order_id, moment) VALUES (?, ?)", payments);
+        orders.clear();
+        items.clear();
+        payments.clear();
+    }
+
+    /**
+     * Ordinal of OrderStatus: mostly delivered history, a few open and canceled orders.
+     */
+    private int orderStatus() {
+        int value = random.nextInt(100);
+        if (value < 10) return 0;
+        if (value < 20) return 1;
+        if (value < 30) return 2;
+        if (value < 95) return 3;
+        return 4;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return (max != null) ? max + 1 : 1L;
+    }
+
+    private void restartSequence(String sequence, long value) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+    }
+}
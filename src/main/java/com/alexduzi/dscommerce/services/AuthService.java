@@ -1,19 +1,19 @@
 package com.alexduzi.dscommerce.services;
 
-import com.alexduzi.dscommerce.entities.User;
 import com.alexduzi.dscommerce.services.exceptions.ForbiddenException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("dscommerce.service")
 public class AuthService {
 
     @Autowired
     private UserService userService;
 
     public void validateSelfOrAdmin(long userId) {
-        User user = userService.authenticated();
-        if (!user.hasRole("ROLE_ADMIN") && !user.getId().equals(userId)) {
+        if (!userService.authenticatedHasRole("ROLE_ADMIN") && !userService.authenticatedUserId().equals(userId)) {
             throw new ForbiddenException("Access denied");
         }
     }
@@ -3,6 +3,7 @@ package com.alexduzi.dscommerce.services;
 import com.alexduzi.dscommerce.dto.CategoryDTO;
 import com.alexduzi.dscommerce.entities.Category;
 import com.alexduzi.dscommerce.repositories.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
+@Timed("dscommerce.service")
 public class CategoryService {
 
     @Autowired
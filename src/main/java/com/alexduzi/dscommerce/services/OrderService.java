@@ -6,17 +6,25 @@ import com.alexduzi.dscommerce.entities.Order;
 import com.alexduzi.dscommerce.entities.OrderItem;
 import com.alexduzi.dscommerce.entities.OrderStatus;
 import com.alexduzi.dscommerce.entities.Product;
-import com.alexduzi.dscommerce.repositories.OrderItemRepository;
+import com.alexduzi.dscommerce.projections.OrderVersionProjection;
 import com.alexduzi.dscommerce.repositories.OrderRepository;
 import com.alexduzi.dscommerce.repositories.ProductRepository;
 import com.alexduzi.dscommerce.services.exceptions.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("dscommerce.service")
 public class OrderService {
 
     @Autowired
@@ -28,19 +36,38 @@ public class OrderService {
     @Autowired
     private ProductRepository productRepository;
 
-    @Autowired
-    private OrderItemRepository orderItemRepository;
-
     @Autowired
     private AuthService authService;
 
     @Transactional(readOnly = true)
     public OrderDTO findById(Long id) {
-        Order order = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
+        Order order = repository.searchWithItemsById(id).orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
         authService.validateSelfOrAdmin(order.getClient().getId());
         return new OrderDTO(order);
     }
 
+    /**
+     * Version key of everything the order DTO shows: the order itself, whether it has a payment and the
+     * products of its items. Client names are not versioned, since users are never written through this application.
+     */
+    @Transactional(readOnly = true)
+    public String findVersion(Long id) {
+        List<OrderVersionProjection> rows = repository.searchVersionsById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Recurso não encontrado");
+        }
+        OrderVersionProjection order = rows.get(0);
+        authService.validateSelfOrAdmin(order.getClientId());
+
+        StringBuilder version = new StringBuilder().append(id).append('-').append(order.getVersion()).append('-').append(order.getPaymentId());
+        for (OrderVersionProjection row : rows) {
+            if (row.getProductId() != null) {
+                version.append(',').append(row.getProductId()).append(':').append(row.getProductVersion());
+            }
+        }
+        return version.toString();
+    }
+
     @Transactional
     public OrderDTO insert(OrderDTO dto) {
         Order order = new Order();
@@ -48,16 +75,21 @@ public class OrderService {
         order.setMoment(Instant.now());
         order.setStatus(OrderStatus.WAITING_PAYMENT);
 
-        order.setClient(userService.authenticated());
+        order.setClient(userService.authenticatedReference());
+
+        Set<Long> productIds = dto.getItems().stream().map(OrderItemDTO::getProductId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream().collect(Collectors.toMap(Product::getId, Function.identity()));
 
         for (OrderItemDTO itemDto : dto.getItems()) {
-            Product product = productRepository.getReferenceById(itemDto.getProductId());
+            Product product = products.get(itemDto.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Produto não encontrado: " + itemDto.getProductId());
+            }
             OrderItem item = new OrderItem(order, product, itemDto.getQuantity(), product.getPrice());
             order.getItems().add(item);
         }
 
         repository.save(order);
-        orderItemRepository.saveAll(order.getItems());
 
         return new OrderDTO(order);
     }
@@ -0,0 +1,70 @@
+package com.alexduzi.dscommerce.services;
+
+import com.alexduzi.dscommerce.dto.ProductMinDTO;
+import com.alexduzi.dscommerce.services.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Opaque position of a keyset page: the sort key, the value of that key and the id of the last row returned.
+ * Encoded as URL-safe Base64 of "key:id:value".
+ */
+class ProductCursor {
+
+    static final Set<String> SORT_KEYS = Set.of("id", "name", "price");
+
+    private final String sortKey;
+    private final Long id;
+    private final String value;
+
+    ProductCursor(String sortKey, Long id, String value) {
+        this.sortKey = sortKey;
+        this.id = id;
+        this.value = value;
+    }
+
+    static ProductCursor after(String sortKey, ProductMinDTO last) {
+        String value = switch (sortKey) {
+            case "name" -> last.getName();
+            case "price" -> String.valueOf(last.getPrice());
+            default -> String.valueOf(last.getId());
+        };
+        return new ProductCursor(sortKey, last.getId(), value);
+    }
+
+    static ProductCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 3);
+            if (parts.length != 3 || !SORT_KEYS.contains(parts[0])) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            ProductCursor result = new ProductCursor(parts[0], Long.valueOf(parts[1]), parts[2]);
+            if (result.sortKey.equals("price")) {
+                Double.valueOf(result.value);
+            }
+            return result;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    String encode() {
+        String raw = sortKey + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    String getSortKey() {
+        return sortKey;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String getValue() {
+        return value;
+    }
+}
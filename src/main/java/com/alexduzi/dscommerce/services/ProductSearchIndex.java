@@ -0,0 +1,223 @@
+package com.alexduzi.dscommerce.services;
+
+import com.alexduzi.dscommerce.projections.ProductNameProjection;
+import com.alexduzi.dscommerce.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory trigram index over product names.
+ * Every 3 character substring of an upper-cased name points to a sorted array of the ids containing it,
+ * so a search only verifies the ids of the rarest trigram of the term instead of scanning the table.
+ * Terms shorter than a trigram match too many names to narrow anything and are left to the database.
+ * <p>
+ * Writes made on this node are applied after the surrounding transaction commits. Writes made by other nodes
+ * are picked up by a periodic check of the table's change signature, which rebuilds the index when it differs.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private volatile Map<Long, String> names = new ConcurrentHashMap<>();
+    private volatile Map<String, long[]> postings = new ConcurrentHashMap<>();
+    private volatile String signature;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        String current = repository.searchChangeSignature();
+
+        Map<Long, String> newNames = new ConcurrentHashMap<>();
+        Map<String, LongList> newPostings = new HashMap<>();
+        // ids arrive in ascending order, so appending keeps every posting sorted
+        for (ProductNameProjection product : repository.searchAllNames()) {
+            if (product.getName() == null) {
+                continue;
+            }
+            String normalized = normalize(product.getName());
+            newNames.put(product.getId(), normalized);
+            for (String gram : grams(normalized)) {
+                newPostings.computeIfAbsent(gram, x -> new LongList()).add(product.getId());
+            }
+        }
+
+        Map<String, long[]> result = new ConcurrentHashMap<>(newPostings.size());
+        newPostings.forEach((gram, ids) -> result.put(gram, ids.toArray()));
+        names = newNames;
+        postings = result;
+        signature = current;
+    }
+
+    @Scheduled(initialDelayString = "${product-search.refresh-interval}", fixedDelayString = "${product-search.refresh-interval}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        if (signature != null && !signature.equals(repository.searchChangeSignature())) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return signature != null;
+    }
+
+    public void put(Long id, String name) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(id);
+                add(id, name);
+            }
+        });
+    }
+
+    public void delete(Long id) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(id);
+            }
+        });
+    }
+
+    /**
+     * Returns the ids, in ascending order, of the products whose name contains the term ignoring case,
+     * or null when the term is shorter than a trigram and has to be searched in the database.
+     */
+    public List<Long> search(String term) {
+        String needle = normalize(term);
+        if (needle.length() < GRAM_SIZE) {
+            return null;
+        }
+
+        Map<Long, String> names = this.names;
+        Map<String, long[]> postings = this.postings;
+        long[] candidates = null;
+        for (String gram : grams(needle)) {
+            long[] posting = postings.get(gram);
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            if (candidates == null || posting.length < candidates.length) {
+                candidates = posting;
+            }
+        }
+
+        List<Long> result = new ArrayList<>();
+        for (long id : candidates) {
+            String name = names.get(id);
+            if (name != null && name.contains(needle)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private void add(Long id, String name) {
+        if (id == null || name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        names.put(id, normalized);
+        for (String gram : grams(normalized)) {
+            postings.compute(gram, (key, ids) -> insert(ids, id));
+        }
+    }
+
+    private void remove(Long id) {
+        String normalized = names.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (String gram : grams(normalized)) {
+            postings.computeIfPresent(gram, (key, ids) -> delete(ids, id));
+        }
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        if (ids == null) {
+            return new long[]{id};
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        position = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, ids.length - position);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toUpperCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static class LongList {
+
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,32 +1,70 @@
 package com.alexduzi.dscommerce.services;
 
+import com.alexduzi.dscommerce.config.CacheConfig;
 import com.alexduzi.dscommerce.dto.CategoryDTO;
+import com.alexduzi.dscommerce.dto.CursorPageDTO;
+import com.alexduzi.dscommerce.dto.ProductBatchItemDTO;
 import com.alexduzi.dscommerce.dto.ProductDTO;
 import com.alexduzi.dscommerce.dto.ProductMinDTO;
-import com.alexduzi.dscommerce.entities.Category;
 import com.alexduzi.dscommerce.entities.Product;
+import com.alexduzi.dscommerce.repositories.CategoryRepository;
 import com.alexduzi.dscommerce.repositories.ProductRepository;
+import com.alexduzi.dscommerce.services.exceptions.BadRequestException;
 import com.alexduzi.dscommerce.services.exceptions.DatabaseException;
 import com.alexduzi.dscommerce.services.exceptions.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
+@Timed("dscommerce.service")
 public class ProductService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "id", "name", "name", "price", "price", "description", "description", "imgUrl", "img_url");
+
     @Autowired
     private ProductRepository repository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Cacheable(value = CacheConfig.PRODUCTS, key = "#id")
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
         Product product = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
@@ -34,21 +72,114 @@ public class ProductService {
         return convertToDto(product);
     }
 
+    @Transactional(readOnly = true)
+    public List<ProductBatchItemDTO> findAllByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Quantidade de ids deve estar entre 1 e " + MAX_BATCH_SIZE);
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Map<Long, ProductDTO> products = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            ProductDTO cached = (id != null) ? cache.get(id, ProductDTO.class) : null;
+            if (cached != null) {
+                products.put(id, cached);
+            } else if (id != null) {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Product product : repository.searchWithCategoriesByIds(misses)) {
+                ProductDTO dto = convertToDto(product);
+                cache.put(product.getId(), dto);
+                products.put(product.getId(), dto);
+            }
+        }
+
+        return ids.stream().map(id -> {
+            ProductDTO dto = products.get(id);
+            return (dto != null) ? new ProductBatchItemDTO(id, dto, null) : new ProductBatchItemDTO(id, null, "Recurso não encontrado");
+        }).toList();
+    }
+
     @Transactional(readOnly = true)
     public Page<ProductMinDTO> findAll(String name, Pageable pageable) {
-        Page<Product> product = repository.searchByName(name, pageable);
+        List<Long> ids = searchIndexIds(name);
+        if (ids == null) {
+            // like PageableExecutionUtils.getPage, only count when the total can't be derived from the page itself
+            Slice<ProductMinDTO> slice = repository.searchSliceByName(escapeLike(name), pageable);
+            if (pageable.isPaged() && (slice.hasNext() || (pageable.getOffset() > 0 && !slice.hasContent()))) {
+                return new PageImpl<>(slice.getContent(), pageable, countByName(name));
+            }
+            return new PageImpl<>(slice.getContent(), pageable, pageable.getOffset() + slice.getNumberOfElements());
+        }
+
+        List<ProductMinDTO> product = ids.isEmpty() ? List.of() : findPage(ids, pageable);
+
+        return new PageImpl<>(product, pageable, ids.size());
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductMinDTO> findAllSlice(String name, Pageable pageable) {
+        List<Long> ids = searchIndexIds(name);
+        if (ids == null) {
+            return repository.searchSliceByName(escapeLike(name), pageable);
+        }
+
+        List<ProductMinDTO> product = ids.isEmpty() ? List.of() : findPage(ids, pageable);
+        boolean hasNext = pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() < ids.size();
 
-        return product.map(this::convertToMinDto);
+        return new SliceImpl<>(product, pageable, hasNext);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductMinDTO> findAllByCursor(String name, String after, Integer size, String sort) {
+        if (size == null || size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Tamanho da página deve estar entre 1 e " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        ProductCursor cursor = (after == null || after.isBlank()) ? null : ProductCursor.decode(after);
+        String sortKey = (cursor != null) ? cursor.getSortKey() : sort;
+        if (!ProductCursor.SORT_KEYS.contains(sortKey)) {
+            throw new BadRequestException("Ordenação inválida: " + sortKey);
+        }
+
+        Pageable pageable = PageRequest.of(0, size + 1, Sort.by(sortKey).and(Sort.by("id")));
+        name = escapeLike(name);
+        List<ProductMinDTO> product;
+        if (cursor == null) {
+            product = repository.searchByNameFromStart(name, pageable);
+        } else if (sortKey.equals("name")) {
+            product = repository.searchByNameAfterName(name, cursor.getValue(), cursor.getId(), pageable);
+        } else if (sortKey.equals("price")) {
+            product = repository.searchByNameAfterPrice(name, Double.valueOf(cursor.getValue()), cursor.getId(), pageable);
+        } else {
+            product = repository.searchByNameAfterId(name, cursor.getId(), pageable);
+        }
+
+        List<ProductMinDTO> content = product.stream().limit(size).toList();
+        String nextCursor = (product.size() > size) ? ProductCursor.after(sortKey, content.get(content.size() - 1)).encode() : null;
+
+        return new CursorPageDTO<>(content, size, nextCursor);
+    }
+
+    @CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
     @Transactional
     public ProductDTO insert(ProductDTO dto) {
         validateData(dto);
         Product product = convertToEntity(dto);
         product = repository.save(product);
+        searchIndex.put(product.getId(), product.getName());
         return convertToDto(product);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(value = CacheConfig.PRODUCT_JSON, key = "#id"),
+            @CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
+    })
     @Transactional
     public ProductDTO update(Long id, ProductDTO dto) {
         try {
@@ -56,12 +187,18 @@ public class ProductService {
             Product product = repository.getReferenceById(id);
             copyDtoToEntity(dto, product);
             product = repository.save(product);
+            searchIndex.put(product.getId(), product.getName());
             return convertToDto(product);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Recurso não encontrado");
         }
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(value = CacheConfig.PRODUCT_JSON, key = "#id"),
+            @CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
+    })
     @Transactional(propagation = Propagation.SUPPORTS)
     public void delete(Long id) {
         if (!repository.existsById(id)) {
@@ -69,11 +206,54 @@ public class ProductService {
         }
         try {
             repository.deleteById(id);
+            searchIndex.delete(id);
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Falha de integridade referencial");
         }
     }
 
+    private long countByName(String name) {
+        Cache counts = cacheManager.getCache(CacheConfig.PRODUCT_COUNTS);
+        Long count = counts.get(name.toUpperCase(Locale.ROOT), () -> repository.countByName(escapeLike(name)));
+        return (count != null) ? count : 0L;
+    }
+
+    /**
+     * Returns the ids matched by the search index, or null when the page has to come from the LIKE query.
+     */
+    private List<Long> searchIndexIds(String name) {
+        return searchIndex.isReady() ? searchIndex.search(name) : null;
+    }
+
+    private List<ProductMinDTO> findPage(List<Long> ids, Pageable pageable) {
+        List<Long> pageIds = ids;
+        if (pageable.getSort().isSorted()) {
+            pageIds = repository.searchPageIdsByIds(ids, toColumns(pageable));
+        } else if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        }
+        Map<Long, ProductMinDTO> products = repository.searchByIds(pageIds, Pageable.unpaged()).stream().collect(Collectors.toMap(ProductMinDTO::getId, Function.identity()));
+        return pageIds.stream().map(products::get).filter(Objects::nonNull).toList();
+    }
+
+    private static Pageable toColumns(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Ordenação inválida: " + order.getProperty());
+            }
+            orders.add(new Sort.Order(order.getDirection(), column));
+        }
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders)) : Pageable.unpaged();
+    }
+
+    // the search index matches the term literally, so LIKE must not treat % and _ as wildcards
+    private static String escapeLike(String name) {
+        return name.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     protected void validateData(ProductDTO productDto) {
         if (productDto.getName() == null || productDto.getName().isBlank()) {
             throw new IllegalArgumentException("Field name cannot be blank");
@@ -84,18 +264,14 @@ public class ProductService {
     }
 
     private ProductDTO convertToDto(Product product) {
-        ProductDTO productDto = modelMapper.map(product, ProductDTO.class);
-        productDto.getCategories().addAll(product.getCategories().stream().map(x -> modelMapper.map(x, CategoryDTO.class)).toList());
-        return productDto;
-    }
-
-    private ProductMinDTO convertToMinDto(Product product) {
-        return modelMapper.map(product, ProductMinDTO.class);
+        return new ProductDTO(product);
     }
 
     private Product convertToEntity(ProductDTO productDTO) {
-        Product product = modelMapper.map(productDTO, Product.class);
-        product.getCategories().addAll(productDTO.getCategories().stream().map(x -> modelMapper.map(x, Category.class)).toList());
+        Product product = new Product(null, productDTO.getName(), productDTO.getDescription(), productDTO.getPrice(), productDTO.getImgUrl());
+        for (CategoryDTO catDto : productDTO.getCategories()) {
+            product.getCategories().add(categoryRepository.getReferenceById(catDto.getId()));
+        }
         return product;
     }
 
@@ -106,9 +282,7 @@ public class ProductService {
         entity.setImgUrl(dto.getImgUrl());
         entity.getCategories().clear();
         for (CategoryDTO catDto : dto.getCategories()) {
-            Category cat = new Category();
-            cat.setId(catDto.getId());
-            entity.getCategories().add(cat);
+            entity.getCategories().add(categoryRepository.getReferenceById(catDto.getId()));
         }
     }
 }
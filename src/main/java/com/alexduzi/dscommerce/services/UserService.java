@@ -1,11 +1,16 @@
 package com.alexduzi.dscommerce.services;
 
+import com.alexduzi.dscommerce.config.CacheConfig;
 import com.alexduzi.dscommerce.dto.UserDTO;
 import com.alexduzi.dscommerce.entities.Role;
 import com.alexduzi.dscommerce.entities.User;
 import com.alexduzi.dscommerce.projections.UserDetailsProjection;
 import com.alexduzi.dscommerce.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,29 +23,61 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
+@Timed("dscommerce.service")
 public class UserService implements UserDetailsService {
 
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Results are cached, and found or unknown usernames are only evicted by {@link #evictUser(String)}.
+     * Users are not written through this application yet, so a password or role change made directly in the database
+     * is seen after cache.user-details.ttl, and a newly created user after cache.user-details.negative-ttl.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Cache userDetails = cacheManager.getCache(CacheConfig.USER_DETAILS);
+        User cached = userDetails.get(username, User.class);
+        if (cached != null) return cached;
+
+        Cache unknownUsers = cacheManager.getCache(CacheConfig.UNKNOWN_USERS);
+        if (unknownUsers.get(username) != null) throw new UsernameNotFoundException("User not found!");
+
         List<UserDetailsProjection> result = repository.searchUserAndRolesByEmail(username);
 
-        if (result.isEmpty()) throw new UsernameNotFoundException("User not found!");
+        if (result.isEmpty()) {
+            unknownUsers.put(username, Boolean.TRUE);
+            throw new UsernameNotFoundException("User not found!");
+        }
 
         User user = new User();
+        user.setId(result.get(0).getUserId());
         user.setEmail(username);
         user.setPassword(result.get(0).getPassword());
         result.forEach(x -> user.addRole(new Role(x.getRoleId(), x.getAuthority())));
 
+        userDetails.put(username, user);
         return user;
     }
 
+    /**
+     * Any code that creates a user or changes its password or roles must call this after the write,
+     * otherwise logins keep using the cached details until they expire.
+     */
+    @CacheEvict(value = {CacheConfig.USER_DETAILS, CacheConfig.UNKNOWN_USERS}, key = "#username")
+    public void evictUser(String username) {
+    }
+
     protected User authenticated() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Jwt jwtPrincipal = (Jwt) authentication.getPrincipal();
+            Jwt jwtPrincipal = authenticatedJwt();
+            String userId = jwtPrincipal.getClaimAsString("user_id");
+            if (userId != null) {
+                return repository.findById(Long.valueOf(userId)).get();
+            }
             String username = jwtPrincipal.getClaim("username");
             return repository.findByEmail(username).get();
         } catch (Exception e) {
@@ -48,9 +85,33 @@ public class UserService implements UserDetailsService {
         }
     }
 
+    protected User authenticatedReference() {
+        return repository.getReferenceById(authenticatedUserId());
+    }
+
+    protected Long authenticatedUserId() {
+        String userId;
+        try {
+            userId = authenticatedJwt().getClaimAsString("user_id");
+        } catch (Exception e) {
+            throw new UsernameNotFoundException("Email not found");
+        }
+        return (userId != null) ? Long.valueOf(userId) : authenticated().getId();
+    }
+
+    protected boolean authenticatedHasRole(String roleName) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream().anyMatch(x -> x.getAuthority().equalsIgnoreCase(roleName));
+    }
+
     @Transactional(readOnly = true)
     public UserDTO getMe() {
         User user = authenticated();
         return new UserDTO(user);
     }
+
+    private Jwt authenticatedJwt() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (Jwt) authentication.getPrincipal();
+    }
 }
@@ -0,0 +1,8 @@
+package com.alexduzi.dscommerce.services.exceptions;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_oauth2_authorization_issued_at ON oauth2_authorization (access_token_issued_at);
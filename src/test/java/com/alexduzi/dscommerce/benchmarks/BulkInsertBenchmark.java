@@ -0,0 +1,106 @@
+package com.alexduzi.dscommerce.benchmarks;
+
+import com.alexduzi.dscommerce.DscommerceApplication;
+import com.alexduzi.dscommerce.entities.Order;
+import com.alexduzi.dscommerce.entities.OrderItem;
+import com.alexduzi.dscommerce.entities.OrderStatus;
+import com.alexduzi.dscommerce.entities.Product;
+import com.alexduzi.dscommerce.entities.User;
+import com.alexduzi.dscommerce.repositories.OrderRepository;
+import com.alexduzi.dscommerce.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of products and orders with sequence generated ids, measuring the JDBC batch size only:
+ * both cases use the same pooled sequence, so batchSize=1 sends one INSERT per row but still allocates ids in
+ * blocks of 50. It is not an IDENTITY baseline, which would also need a generated keys round trip per row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int PRODUCTS_PER_OPERATION = 100;
+    private static final int ORDERS_PER_OPERATION = 20;
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Param({"1", "50"})
+    private String batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private ProductRepository productRepository;
+    private OrderRepository orderRepository;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // @formatter:off
+        context = new SpringApplicationBuilder(DscommerceApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)
+                .run();
+        // @formatter:on
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        productRepository = context.getBean(ProductRepository.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedRows() {
+        jdbcTemplate.update("DELETE FROM tb_order_item WHERE order_id > 3");
+        jdbcTemplate.update("DELETE FROM tb_order WHERE id > 3");
+        jdbcTemplate.update("DELETE FROM tb_product WHERE id > 25");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS_PER_OPERATION)
+    public void insertProducts() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < PRODUCTS_PER_OPERATION; i++) {
+                products.add(new Product(null, "Product " + i, "Benchmark product description", 10.0 + i, "url"));
+            }
+            productRepository.saveAll(products);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_OPERATION)
+    public void insertOrders() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User client = entityManager.getReference(User.class, 1L);
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < ORDERS_PER_OPERATION; i++) {
+                Order order = new Order(null, Instant.now(), OrderStatus.WAITING_PAYMENT, client);
+                for (long productId = 1; productId <= ITEMS_PER_ORDER; productId++) {
+                    order.getItems().add(new OrderItem(order, entityManager.getReference(Product.class, productId), 1, 10.0));
+                }
+                orders.add(order);
+            }
+            orderRepository.saveAll(orders);
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.alexduzi.dscommerce.benchmarks;
+
+import com.alexduzi.dscommerce.dto.OrderDTO;
+import com.alexduzi.dscommerce.dto.ProductMinDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the two largest response bodies, using an ObjectMapper configured like the application one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Page<ProductMinDTO> productPage;
+    private OrderDTO order;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.FAIL_ON_EMPTY_BEANS).build();
+
+        List<ProductMinDTO> products = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            products.add(new ProductMinDTO(i, "PC Gamer " + i, 1000.0 + i, "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/" + i + "-big.jpg"));
+        }
+        productPage = new PageImpl<>(products, PageRequest.of(0, 20), 1000);
+        order = new OrderDTO(OrderDtoBenchmark.createOrder(20));
+    }
+
+    @Benchmark
+    public byte[] productPage() throws Exception {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] order() throws Exception {
+        return objectMapper.writeValueAsBytes(order);
+    }
+}
@@ -0,0 +1,81 @@
+package com.alexduzi.dscommerce.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running instance, used to compare the default Tomcat thread pool
+ * with the "virtual" profile at high concurrency. Start the application with and without the profile and run:
+ *
+ * <pre>
+ * java -cp target/test-classes com.alexduzi.dscommerce.benchmarks.LoadGenerator http://localhost:8081/products?name=pc 1000 30
+ * </pre>
+ *
+ * Arguments are the URL, the number of requests kept in flight and the duration in seconds.
+ * Only the default thread pool has been measured so far, on JDK 17 with one CPU shared with the generator
+ * and SQL logging on, 20 seconds per run against /products?name=pc:
+ *
+ * <pre>
+ * concurrency=200   requests=1187 errors=0 throughput=54.5 req/s p50=3403.7 ms p99=10124.5 ms
+ * concurrency=1000  requests=2124 errors=0 throughput=71.9 req/s p50=10553.1 ms p99=23161.7 ms
+ * </pre>
+ *
+ * The "virtual" profile needs a JDK 21 runtime and has no numbers yet, so there is no comparison to read from these.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8081/products?name=pc");
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        LongAdder errors = new LongAdder();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long started = 0;
+
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            started++;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                if (ex != null || response.statusCode() >= 400) {
+                    errors.increment();
+                }
+                latencies.add(System.nanoTime() - sent);
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(concurrency);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted;
+        synchronized (latencies) {
+            sorted = new ArrayList<>(latencies);
+        }
+        Collections.sort(sorted);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p99=%.1f ms%n",
+                started, errors.sum(), sorted.size() / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+}
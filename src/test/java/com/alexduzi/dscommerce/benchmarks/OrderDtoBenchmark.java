@@ -0,0 +1,56 @@
+package com.alexduzi.dscommerce.benchmarks;
+
+import com.alexduzi.dscommerce.dto.OrderDTO;
+import com.alexduzi.dscommerce.entities.Order;
+import com.alexduzi.dscommerce.entities.OrderItem;
+import com.alexduzi.dscommerce.entities.OrderStatus;
+import com.alexduzi.dscommerce.entities.Payment;
+import com.alexduzi.dscommerce.entities.Product;
+import com.alexduzi.dscommerce.entities.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderDtoBenchmark {
+
+    @Param({"1", "20"})
+    private int items;
+
+    private Order order;
+    private OrderDTO orderDto;
+
+    @Setup
+    public void setUp() {
+        order = createOrder(items);
+        orderDto = new OrderDTO(order);
+    }
+
+    @Benchmark
+    public OrderDTO construct() {
+        return new OrderDTO(order);
+    }
+
+    @Benchmark
+    public Double total() {
+        return orderDto.getTotal();
+    }
+
+    static Order createOrder(int items) {
+        User client = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", LocalDate.of(2001, 7, 25), "password");
+        Order order = new Order(1L, Instant.parse("2022-07-25T13:00:00Z"), OrderStatus.PAID, client);
+        order.setPayment(new Payment(1L, order, Instant.parse("2022-07-25T15:00:00Z")));
+        for (long i = 1; i <= items; i++) {
+            Product product = new Product(i, "Product " + i, "Product description", 10.0 * i, "https://img/" + i + ".jpg");
+            order.getItems().add(new OrderItem(order, product, (int) i, product.getPrice()));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,58 @@
+package com.alexduzi.dscommerce.benchmarks;
+
+import com.alexduzi.dscommerce.dto.CategoryDTO;
+import com.alexduzi.dscommerce.dto.ProductDTO;
+import com.alexduzi.dscommerce.dto.ProductMinDTO;
+import com.alexduzi.dscommerce.entities.Product;
+import com.alexduzi.dscommerce.util.CategoryFactory;
+import com.alexduzi.dscommerce.util.ProductFactory;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of the reflective ModelMapper conversions previously used by ProductService
+ * against the DTO constructors that replaced them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        product = ProductFactory.createProduct(2L, "Smart TV", "Lorem ipsum dolor sit amet, consectetur adipiscing elit", 2190.0, "url");
+        product.getCategories().add(CategoryFactory.createCategory(2L, "Eletrônicos"));
+        product.getCategories().add(CategoryFactory.createCategory(3L, "Computadores"));
+    }
+
+    @Benchmark
+    public ProductDTO modelMapperToDto() {
+        ProductDTO dto = modelMapper.map(product, ProductDTO.class);
+        dto.getCategories().addAll(product.getCategories().stream().map(x -> modelMapper.map(x, CategoryDTO.class)).toList());
+        return dto;
+    }
+
+    @Benchmark
+    public ProductDTO constructorToDto() {
+        return new ProductDTO(product);
+    }
+
+    @Benchmark
+    public ProductMinDTO modelMapperToMinDto() {
+        return modelMapper.map(product, ProductMinDTO.class);
+    }
+
+    @Benchmark
+    public ProductMinDTO constructorToMinDto() {
+        return new ProductMinDTO(product);
+    }
+}
@@ -0,0 +1,100 @@
+package com.alexduzi.dscommerce.benchmarks;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token signing and verification cost for RS256 (RSA 2048) versus ES256 (P-256), with the encoder and
+ * decoder setup of AuthorizationServerConfig. The size of one access token is printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    private NimbusJwtEncoder encoder;
+    private JwtDecoder decoder;
+    private SignatureAlgorithm signatureAlgorithm;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JWK key = algorithm.equals("ES256") ? generateEc() : generateRsa();
+        JWKSource<SecurityContext> jwkSource = new ImmutableJWKSet<>(new JWKSet(key));
+        signatureAlgorithm = SignatureAlgorithm.from(algorithm);
+
+        encoder = new NimbusJwtEncoder(jwkSource);
+        decoder = OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+        token = sign().getTokenValue();
+        System.out.println(algorithm + " access token size: " + token.length() + " bytes");
+    }
+
+    @Benchmark
+    public Jwt sign() {
+        Instant now = Instant.now();
+        // @formatter:off
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("myclientid")
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.DAYS))
+                .claim("authorities", List.of("ROLE_CLIENT", "ROLE_ADMIN"))
+                .claim("username", "alex@gmail.com")
+                .claim("user_id", "2")
+                .build();
+        // @formatter:on
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(signatureAlgorithm).build(), claims));
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+
+    private static RSAKey generateRsa() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        return new RSAKey.Builder((RSAPublicKey) keyPair.getPublic()).privateKey((RSAPrivateKey) keyPair.getPrivate()).keyID(UUID.randomUUID().toString()).build();
+    }
+
+    private static ECKey generateEc() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        return new ECKey.Builder(Curve.P_256, (ECPublicKey) keyPair.getPublic()).privateKey((ECPrivateKey) keyPair.getPrivate()).keyID(UUID.randomUUID().toString()).build();
+    }
+}
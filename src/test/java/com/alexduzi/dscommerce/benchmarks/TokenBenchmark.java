@@ -0,0 +1,118 @@
+package com.alexduzi.dscommerce.benchmarks;
+
+import com.alexduzi.dscommerce.DscommerceApplication;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContext;
+import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
+import org.springframework.security.oauth2.server.authorization.token.DefaultOAuth2TokenContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenGenerator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the token endpoint and resource server crypto, using the beans of AuthorizationServerConfig: access token
+ * generation with the configured signing key and customizer, signature verification with and without the
+ * decoder cache, and BCrypt verification of a seeded password (cost 10).
+ * Run with -Dsecurity.jwt.algorithm=ES256 or a keystore to measure another key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenBenchmark {
+
+    private static final String SEEDED_PASSWORD_HASH = "$2a$10$M44yCkoDAWsMbhWa4K2JV.lDNVAJEJPTqeW6LppBR0SszAx2uVV0C";
+
+    private ConfigurableApplicationContext context;
+    private OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator;
+    private OAuth2TokenContext tokenContext;
+    private JwtDecoder decoder;
+    private JwtDecoder cachingDecoder;
+    private PasswordEncoder passwordEncoder;
+    private String token;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new SpringApplicationBuilder(DscommerceApplication.class)
+                .run("--server.port=0", "--spring.jpa.show-sql=false");
+        tokenGenerator = (OAuth2TokenGenerator<? extends OAuth2Token>) context.getBean("tokenGenerator");
+        JWKSource<SecurityContext> jwkSource = (JWKSource<SecurityContext>) context.getBeanProvider(
+                ResolvableType.forClassWithGenerics(JWKSource.class, SecurityContext.class)).getObject();
+        decoder = OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+        cachingDecoder = context.getBean(JwtDecoder.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        RegisteredClient registeredClient = context.getBean(RegisteredClientRepository.class).findByClientId("myclientid");
+        UsernamePasswordAuthenticationToken principal = UsernamePasswordAuthenticationToken.authenticated("alex@gmail.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENT"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        principal.setDetails("2");
+        AuthorizationServerSettings settings = context.getBean(AuthorizationServerSettings.class);
+        AuthorizationServerContext serverContext = new AuthorizationServerContext() {
+            @Override
+            public String getIssuer() {
+                return "http://localhost:8080";
+            }
+
+            @Override
+            public AuthorizationServerSettings getAuthorizationServerSettings() {
+                return settings;
+            }
+        };
+        // @formatter:off
+        tokenContext = DefaultOAuth2TokenContext.builder()
+                .registeredClient(registeredClient)
+                .authorizationServerContext(serverContext)
+                .principal(principal)
+                .authorizationGrantType(new AuthorizationGrantType("password"))
+                .tokenType(OAuth2TokenType.ACCESS_TOKEN)
+                .build();
+        // @formatter:on
+        token = encode().getTokenValue();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OAuth2Token encode() {
+        return tokenGenerator.generate(tokenContext);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCached() {
+        return cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches("123456", SEEDED_PASSWORD_HASH);
+    }
+}
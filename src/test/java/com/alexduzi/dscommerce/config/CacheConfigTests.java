@@ -0,0 +1,85 @@
+package com.alexduzi.dscommerce.config;
+
+import com.alexduzi.dscommerce.dto.ProductDTO;
+import com.alexduzi.dscommerce.entities.Category;
+import com.alexduzi.dscommerce.repositories.CategoryRepository;
+import com.alexduzi.dscommerce.services.ProductService;
+import com.alexduzi.dscommerce.services.UserService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class CacheConfigTests {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Cache productJson, categoryJson;
+
+    @BeforeEach
+    void setUp() {
+        productJson = cacheManager.getCache(CacheConfig.PRODUCT_JSON);
+        categoryJson = cacheManager.getCache(CacheConfig.CATEGORY_JSON);
+        productJson.put(1L, "cached");
+        categoryJson.put("all", "cached");
+    }
+
+    @Test
+    void productUpdateShouldEvictProductJsonOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductDTO dto = productService.findById(1L);
+            productService.update(1L, dto);
+
+            Assertions.assertNotNull(productJson.get(1L));
+        });
+
+        Assertions.assertNull(productJson.get(1L));
+    }
+
+    @Test
+    void categoryUpdateShouldEvictCategoryAndProductJsonOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = categoryRepository.findById(1L).orElseThrow();
+            category.setName(category.getName() + " ");
+            categoryRepository.saveAndFlush(category);
+
+            Assertions.assertNotNull(categoryJson.get("all"));
+            Assertions.assertNotNull(productJson.get(1L));
+        });
+
+        Assertions.assertNull(categoryJson.get("all"));
+        Assertions.assertNull(productJson.get(1L));
+    }
+
+    @Test
+    void evictUserShouldEvictCachedAndUnknownUser() {
+        userService.loadUserByUsername("maria@gmail.com");
+        Cache userDetails = cacheManager.getCache(CacheConfig.USER_DETAILS);
+        Cache unknownUsers = cacheManager.getCache(CacheConfig.UNKNOWN_USERS);
+        unknownUsers.put("maria@gmail.com", Boolean.TRUE);
+        Assertions.assertNotNull(userDetails.get("maria@gmail.com"));
+
+        userService.evictUser("maria@gmail.com");
+
+        Assertions.assertNull(userDetails.get("maria@gmail.com"));
+        Assertions.assertNull(unknownUsers.get("maria@gmail.com"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.alexduzi.dscommerce.config.customgrant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+class BoundedPasswordEncoderTests {
+
+    @Test
+    void matchesShouldRejectWhenThreadsAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(release), 1, 1, Duration.ofSeconds(10), registry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("123456", "hash"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("123456", "hash"));
+        while (registry.get("auth.password.queue.size").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> encoder.matches("123456", "hash"));
+        Assertions.assertEquals(1.0, registry.get("auth.password.rejected").counter().count());
+
+        release.countDown();
+        Assertions.assertTrue(running.get());
+        Assertions.assertTrue(queued.get());
+        Assertions.assertEquals(2L, registry.get("auth.password.hash").timer().count());
+    }
+
+    @Test
+    void matchesShouldRejectWhenVerificationTimesOut() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1)), 1, 1, Duration.ofMillis(50), new SimpleMeterRegistry());
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> encoder.matches("123456", "hash"));
+    }
+
+    @Test
+    void matchesShouldRejectAfterShutdown() {
+        CountDownLatch release = new CountDownLatch(1);
+        release.countDown();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(release), 1, 1, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        Assertions.assertTrue(encoder.matches("123456", "hash"));
+
+        encoder.shutdown();
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> encoder.matches("123456", "hash"));
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+    }
+}
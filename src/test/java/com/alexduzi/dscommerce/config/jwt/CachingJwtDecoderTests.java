@@ -0,0 +1,47 @@
+package com.alexduzi.dscommerce.config.jwt;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CachingJwtDecoderTests {
+
+    @Test
+    void decodeShouldVerifyTokenOnceWhileItIsValid() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingJwtDecoder decoder = new CachingJwtDecoder(countingDecoder(calls, Instant.now().plusSeconds(3600)), 10);
+
+        Jwt first = decoder.decode("token");
+        Jwt second = decoder.decode("token");
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void decodeShouldNotCacheExpiredToken() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingJwtDecoder decoder = new CachingJwtDecoder(countingDecoder(calls, Instant.now().minusSeconds(1)), 10);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    private static JwtDecoder countingDecoder(AtomicInteger calls, Instant expiresAt) {
+        return token -> {
+            calls.incrementAndGet();
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("myclientid")
+                    .issuedAt(expiresAt.minusSeconds(3600))
+                    .expiresAt(expiresAt)
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.alexduzi.dscommerce.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.alexduzi.dscommerce.util.TokenUtil.obtainAccessToken;
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+class ActuatorRA {
+
+    private String clientToken, adminToken;
+
+    @BeforeEach
+    public void setUp() {
+        baseURI = "http://localhost:8080";
+
+        clientToken = obtainAccessToken("maria@gmail.com", "123456");
+        adminToken = obtainAccessToken("alex@gmail.com", "123456");
+    }
+
+    @Test
+    public void healthShouldReturnOkWhenNoTokenGiven() {
+        given()
+                .get("/actuator/health")
+                .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"));
+    }
+
+    @Test
+    public void prometheusShouldReturnUnauthorizedWhenNoTokenGiven() {
+        given()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(401);
+    }
+
+    @Test
+    public void metricsShouldReturnUnauthorizedWhenNoTokenGiven() {
+        given()
+                .get("/actuator/metrics/{name}", "jvm.memory.used")
+                .then()
+                .statusCode(401);
+    }
+
+    @Test
+    public void prometheusShouldReturnForbiddenWhenClientLogged() {
+        given()
+                .header("Authorization", "Bearer " + clientToken)
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    public void prometheusShouldReturnMetricsWhenAdminLogged() {
+        given()
+                .header("Authorization", "Bearer " + adminToken)
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(200)
+                .body(containsString("jvm_memory_used_bytes"));
+    }
+}
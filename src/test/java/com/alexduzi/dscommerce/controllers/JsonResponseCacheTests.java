@@ -0,0 +1,18 @@
+package com.alexduzi.dscommerce.controllers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class JsonResponseCacheTests {
+
+    @Test
+    void acceptsGzipShouldHonorQualityValues() {
+        Assertions.assertTrue(JsonResponseCache.acceptsGzip("gzip, deflate, br"));
+        Assertions.assertTrue(JsonResponseCache.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        Assertions.assertTrue(JsonResponseCache.acceptsGzip("*"));
+        Assertions.assertFalse(JsonResponseCache.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(JsonResponseCache.acceptsGzip("*;q=0.5, gzip;q=0"));
+        Assertions.assertFalse(JsonResponseCache.acceptsGzip("identity"));
+        Assertions.assertFalse(JsonResponseCache.acceptsGzip(null));
+    }
+}
@@ -1,6 +1,7 @@
 package com.alexduzi.dscommerce.controllers;
 
 import io.restassured.http.ContentType;
+import org.json.simple.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -72,6 +73,28 @@ class OrderControllerRA {
                 .body("payment.moment", equalTo("2022-07-25T15:00:00Z"));
     }
 
+    @Test
+    public void findByIdShouldReturnNotModifiedWhenETagMatchesAndAdminLogged() {
+        String eTag = given()
+                .header("Authorization", "Bearer " + adminToken)
+                .accept(ContentType.JSON)
+                .when()
+                .get("/orders/{id}", existingOrderId)
+                .then()
+                .statusCode(200)
+                .header("Cache-Control", equalTo("no-cache, private"))
+                .extract().header("ETag");
+
+        given()
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-None-Match", eTag)
+                .accept(ContentType.JSON)
+                .when()
+                .get("/orders/{id}", existingOrderId)
+                .then()
+                .statusCode(304);
+    }
+
     @Test
     public void findByIdShouldReturnOrderWhenIdExistsAndClientLoggedAndOrderDoesNotBelongToUser() {
         Long otherOrderId = 2L;
@@ -112,4 +135,53 @@ class OrderControllerRA {
                 .then()
                 .statusCode(401);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void insertShouldReturnCreatedOrderWhenClientLogged() {
+        JSONObject newOrder = new JSONObject(orderInstance(1L, 3L));
+
+        given()
+                .header("Content-type", "application/json")
+                .header("Authorization", "Bearer " + clientToken)
+                .body(newOrder)
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .when()
+                .post("/orders")
+                .then()
+                .statusCode(201)
+                .body("status", equalTo("WAITING_PAYMENT"))
+                .body("client.name", equalTo("Maria Brown"))
+                .body("items.productId", hasItems(1, 3))
+                .body("total", is(1340.5F));
+    }
+
+    @Test
+    public void insertShouldReturnNotFoundWhenProductDoesNotExist() {
+        JSONObject newOrder = new JSONObject(orderInstance(1L, 1000L));
+
+        given()
+                .header("Content-type", "application/json")
+                .header("Authorization", "Bearer " + clientToken)
+                .body(newOrder)
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .when()
+                .post("/orders")
+                .then()
+                .statusCode(404);
+    }
+
+    private Map<String, Object> orderInstance(Long... productIds) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("productId", productId);
+            item.put("quantity", 1);
+            items.add(item);
+        }
+        Map<String, Object> order = new HashMap<>();
+        order.put("items", items);
+        return order;
+    }
+}
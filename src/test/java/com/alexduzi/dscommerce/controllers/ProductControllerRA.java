@@ -10,6 +10,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static com.alexduzi.dscommerce.util.TokenUtil.obtainAccessToken;
 import static io.restassured.RestAssured.*;
@@ -94,6 +96,47 @@ public class ProductControllerRA {
                 .body("content.price[0]", is(1250.0F));
     }
 
+    @Test
+    public void findByIdShouldReturnNotModifiedWhenETagMatches() {
+        String eTag = given()
+                .get("/products/{id}", 3L)
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Cache-Control", equalTo("no-cache"))
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", eTag)
+                .get("/products/{id}", 3L)
+                .then()
+                .statusCode(304)
+                .body(emptyString());
+    }
+
+    @Test
+    public void findByIdShouldReturnGzipJsonWhenClientAcceptsGzip() {
+        given()
+                .header("Accept-Encoding", "gzip")
+                .get("/products/{id}", 3L)
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .header("Content-Encoding", "gzip")
+                .header("Vary", containsString("Accept-Encoding"))
+                .body("name", equalTo("Macbook Pro"));
+    }
+
+    @Test
+    public void findAllShouldMatchProductNameSubstringIgnoringCase() {
+        given()
+                .get("/products?name={productName}", "gamer t")
+                .then()
+                .statusCode(200)
+                .body("totalElements", is(4))
+                .body("content.name", hasItems("PC Gamer Tera", "PC Gamer Turbo", "PC Gamer Tr", "PC Gamer Tx"));
+    }
+
     @Test
     public void findAllShouldReturnPagedProductsWithPriceGreaterThan2000() {
         given()
@@ -103,6 +146,79 @@ public class ProductControllerRA {
                 .body("content.findAll { it.price > 2000 }.name", hasItems("Smart TV", "PC Gamer Weed"));
     }
 
+    @Test
+    public void findAllByCursorShouldReturnNextPageWhenCursorIsGiven() {
+        String nextCursor = given()
+                .get("/products?after=&size=2&name={productName}", "Gamer T")
+                .then()
+                .statusCode(200)
+                .body("content.id", contains(9, 17))
+                .body("nextCursor", notNullValue())
+                .extract().path("nextCursor");
+
+        given()
+                .get("/products?after={cursor}&size=2&name={productName}", nextCursor, "Gamer T")
+                .then()
+                .statusCode(200)
+                .body("content.id", contains(20, 21))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    public void findAllByIdsShouldReturnProductsInRequestOrderAndReportMissingIds() {
+        given()
+                .get("/products?ids=3,1000,2")
+                .then()
+                .statusCode(200)
+                .body("id", contains(3, 1000, 2))
+                .body("[0].product.name", equalTo("Macbook Pro"))
+                .body("[1].product", nullValue())
+                .body("[1].error", equalTo("Recurso não encontrado"))
+                .body("[2].product.categories.id", hasItems(2, 3));
+    }
+
+    @Test
+    public void findAllByIdsShouldReturnBadRequestWhenTooManyIdsAreGiven() {
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        given()
+                .get("/products?ids={ids}", ids)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void findAllSliceShouldReturnContentWithoutTotalsWhenSliceIsRequested() {
+        given()
+                .get("/products?slice=true&size=2&name={productName}", "Gamer T")
+                .then()
+                .statusCode(200)
+                .body("content.id", contains(9, 17))
+                .body("last", is(false))
+                .body("totalElements", nullValue());
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnBadRequestWhenCursorIsInvalid() {
+        given()
+                .get("/products?after={cursor}", "xpto")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void findAllShouldReturnBadRequestWhenListModesAreCombined() {
+        given()
+                .get("/products?ids=1,2&after=")
+                .then()
+                .statusCode(400);
+
+        given()
+                .get("/products?slice=true&after=")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     public void insertShouldReturnProductCreatedWhenAdminLogged() {
         JSONObject newProduct = new JSONObject(postProductInstance);
@@ -124,6 +240,36 @@ public class ProductControllerRA {
 
     }
 
+    @Test
+    public void findByIdShouldReturnUpdatedProductAfterUpdateWhenAdminLogged() {
+        given()
+                .get("/products/{id}", 10L)
+                .then()
+                .statusCode(200)
+                .body("name", equalTo("PC Gamer Y"));
+
+        postProductInstance.put("name", "PC Gamer Y Atualizado");
+        JSONObject updatedProduct = new JSONObject(postProductInstance);
+
+        given()
+                .header("Content-type", "application/json")
+                .header("Authorization", "Bearer " + adminToken)
+                .body(updatedProduct)
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .when()
+                .put("/products/{id}", 10L)
+                .then()
+                .statusCode(200);
+
+        given()
+                .get("/products/{id}", 10L)
+                .then()
+                .statusCode(200)
+                .body("name", equalTo("PC Gamer Y Atualizado"))
+                .body("categories.id", hasItems(1, 2));
+    }
+
     @Test
     public void insertShouldReturnUnprocessableEntityWhenAdminLoggedAndProductNameIsEmpty() {
         postProductInstance.put("name", " ");
@@ -0,0 +1,77 @@
+package com.alexduzi.dscommerce.controllers;
+
+import com.alexduzi.dscommerce.config.authorization.ExpiringJdbcOAuth2AuthorizationService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+import static com.alexduzi.dscommerce.util.TokenUtil.authRequest;
+import static com.alexduzi.dscommerce.util.TokenUtil.refreshRequest;
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.authorization-store.type=jdbc",
+        "spring.datasource.url=jdbc:h2:mem:jdbcstore",
+        "spring.sql.init.schema-locations=classpath:org/springframework/security/oauth2/server/authorization/oauth2-authorization-schema.sql,classpath:oauth2-authorization-indexes.sql"
+})
+class TokenEndpointJdbcStoreTests {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RegisteredClientRepository registeredClientRepository;
+
+    private String clientUsername, clientPassword;
+
+    @BeforeEach
+    public void setUp() {
+        baseURI = "http://localhost";
+        port = serverPort;
+
+        clientUsername = "maria@gmail.com";
+        clientPassword = "123456";
+    }
+
+    @Test
+    public void refreshShouldIssueNewTokensWhenAuthorizationIsReadBackFromDatabase() {
+        String refreshToken = authRequest(clientUsername, clientPassword)
+                .then()
+                .statusCode(200)
+                .extract().path("refresh_token");
+
+        String accessToken = refreshRequest(refreshToken)
+                .then()
+                .statusCode(200)
+                .body("refresh_token", not(equalTo(refreshToken)))
+                .extract().path("access_token");
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .get("/users/me")
+                .then()
+                .statusCode(200)
+                .body("email", equalTo(clientUsername));
+    }
+
+    @Test
+    public void purgeShouldDeleteOldestAuthorizationsAboveMaximumSize() {
+        authRequest(clientUsername, clientPassword).then().statusCode(200);
+        authRequest(clientUsername, clientPassword).then().statusCode(200);
+        ExpiringJdbcOAuth2AuthorizationService store = new ExpiringJdbcOAuth2AuthorizationService(jdbcTemplate, registeredClientRepository, 1);
+
+        store.purge();
+
+        Assertions.assertEquals(1L, store.size());
+        Assertions.assertEquals(1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM oauth2_authorization", Long.class));
+    }
+}
@@ -0,0 +1,56 @@
+package com.alexduzi.dscommerce.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.alexduzi.dscommerce.util.TokenUtil.authRequest;
+import static com.alexduzi.dscommerce.util.TokenUtil.refreshRequest;
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+class TokenEndpointRA {
+
+    private String clientUsername, clientPassword;
+
+    @BeforeEach
+    public void setUp() {
+        baseURI = "http://localhost:8080";
+
+        clientUsername = "maria@gmail.com";
+        clientPassword = "123456";
+    }
+
+    @Test
+    public void refreshShouldIssueNewTokensAndRotateRefreshToken() {
+        String refreshToken = authRequest(clientUsername, clientPassword)
+                .then()
+                .statusCode(200)
+                .body("refresh_token", notNullValue())
+                .extract().path("refresh_token");
+
+        String rotatedRefreshToken = refreshRequest(refreshToken)
+                .then()
+                .statusCode(200)
+                .body("access_token", notNullValue())
+                .body("refresh_token", not(equalTo(refreshToken)))
+                .extract().path("refresh_token");
+
+        given()
+                .header("Authorization", "Bearer " + refreshRequest(rotatedRefreshToken).path("access_token"))
+                .get("/users/me")
+                .then()
+                .statusCode(200)
+                .body("email", equalTo(clientUsername));
+    }
+
+    @Test
+    public void refreshShouldReturnBadRequestWhenRefreshTokenWasAlreadyUsed() {
+        String refreshToken = authRequest(clientUsername, clientPassword).path("refresh_token");
+        refreshRequest(refreshToken).then().statusCode(200);
+
+        refreshRequest(refreshToken)
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("invalid_grant"));
+    }
+}
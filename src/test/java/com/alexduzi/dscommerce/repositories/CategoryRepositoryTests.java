@@ -0,0 +1,68 @@
+package com.alexduzi.dscommerce.repositories;
+
+import com.alexduzi.dscommerce.entities.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CategoryRepositoryTests {
+
+    @Autowired
+    private CategoryRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllShouldBeServedFromQueryCacheAfterFirstCall() {
+        repository.findAll();
+        entityManager.clear();
+        statistics.clear();
+
+        Assertions.assertEquals(3, repository.findAll().size());
+        Assertions.assertEquals(1L, statistics.getQueryCacheHitCount());
+        Assertions.assertEquals(0L, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void productCategoriesShouldBeServedFromSecondLevelCacheAfterFirstLoad() {
+        countCategoriesInNewEntityManager(1L);
+        statistics.clear();
+
+        Assertions.assertTrue(countCategoriesInNewEntityManager(1L) > 0);
+        Assertions.assertEquals(0L, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1L, statistics.getCollectionStatistics(Product.class.getName() + ".categories").getCacheHitCount());
+    }
+
+    // read-write cache entries are only visible to sessions started after they were stored
+    private int countCategoriesInNewEntityManager(Long productId) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            return em.find(Product.class, productId).getCategories().size();
+        }
+        finally {
+            em.close();
+        }
+    }
+}
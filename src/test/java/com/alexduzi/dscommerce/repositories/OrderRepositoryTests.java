@@ -0,0 +1,73 @@
+package com.alexduzi.dscommerce.repositories;
+
+import com.alexduzi.dscommerce.dto.OrderDTO;
+import com.alexduzi.dscommerce.entities.Order;
+import com.alexduzi.dscommerce.entities.OrderItem;
+import com.alexduzi.dscommerce.entities.OrderStatus;
+import com.alexduzi.dscommerce.entities.Payment;
+import com.alexduzi.dscommerce.entities.Product;
+import com.alexduzi.dscommerce.entities.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTests {
+
+    @Autowired
+    private OrderRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void searchWithItemsByIdShouldLoadOrderInOneStatementRegardlessOfItemCount() {
+        Long smallOrderId = createOrder(1);
+        Long largeOrderId = createOrder(20);
+
+        Assertions.assertEquals(1L, countStatementsToBuildDto(smallOrderId));
+        Assertions.assertEquals(1L, countStatementsToBuildDto(largeOrderId));
+    }
+
+    @Test
+    void searchWithItemsByIdShouldReturnEmptyWhenIdDoesNotExist() {
+        Assertions.assertTrue(repository.searchWithItemsById(1000L).isEmpty());
+    }
+
+    private Long createOrder(int itemCount) {
+        User client = entityManager.find(User.class, 1L);
+        Order order = new Order(null, Instant.now(), OrderStatus.WAITING_PAYMENT, client);
+        entityManager.persist(order);
+        for (long productId = 1; productId <= itemCount; productId++) {
+            Product product = entityManager.find(Product.class, productId);
+            entityManager.persist(new OrderItem(order, product, 1, product.getPrice()));
+        }
+        entityManager.persist(new Payment(null, order, Instant.now()));
+        entityManager.flush();
+        entityManager.clear();
+        return order.getId();
+    }
+
+    private long countStatementsToBuildDto(Long orderId) {
+        statistics.clear();
+        Order order = repository.searchWithItemsById(orderId).orElseThrow();
+        new OrderDTO(order);
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+}
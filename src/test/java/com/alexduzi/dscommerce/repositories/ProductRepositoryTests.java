@@ -0,0 +1,43 @@
+package com.alexduzi.dscommerce.repositories;
+
+import com.alexduzi.dscommerce.dto.ProductMinDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductRepositoryTests {
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void searchSliceByNameShouldReturnProjectionWithoutLoadingEntitiesOrCounting() {
+        Slice<ProductMinDTO> result = repository.searchSliceByName("macbook", PageRequest.of(0, 12, Sort.by("name")));
+
+        Assertions.assertFalse(result.hasNext());
+        Assertions.assertEquals(1, result.getNumberOfElements());
+        Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+        Assertions.assertEquals(0L, statistics.getEntityLoadCount());
+        Assertions.assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,91 @@
+package com.alexduzi.dscommerce.services;
+
+import com.alexduzi.dscommerce.dto.OrderDTO;
+import com.alexduzi.dscommerce.dto.OrderItemDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class OrderServiceTests {
+
+    @Autowired
+    private OrderService service;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // @formatter:off
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("username", "maria@gmail.com")
+                .claim("user_id", "1")
+                .build();
+        // @formatter:on
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void insertShouldLoadProductsInOneQueryAndBatchItemInserts() {
+        // takes the order sequence fetch out of the measured insert
+        service.insert(createOrderDto(1));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        service.insert(createOrderDto(20));
+        entityManager.flush();
+
+        Assertions.assertEquals(1L, statistics.getQueryExecutionCount());
+        Assertions.assertEquals(21L, statistics.getEntityInsertCount());
+        // product load, client load for the returned dto, tb_order insert and one batched tb_order_item insert
+        Assertions.assertEquals(4L, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findVersionShouldUseOneStatementAndChangeWhenAnItemProductChanges() {
+        statistics.clear();
+        String before = service.findVersion(1L);
+        Assertions.assertEquals(1L, statistics.getPrepareStatementCount());
+
+        // written around Hibernate, a rolled back flush would leave a soft lock in the shared product cache region
+        Long productId = service.findById(1L).getItems().get(0).getProductId();
+        jdbcTemplate.update("UPDATE tb_product SET version = version + 1 WHERE id = ?", productId);
+
+        Assertions.assertNotEquals(before, service.findVersion(1L));
+    }
+
+    private OrderDTO createOrderDto(int itemCount) {
+        OrderDTO dto = new OrderDTO();
+        for (long productId = 1; productId <= itemCount; productId++) {
+            dto.getItems().add(new OrderItemDTO(productId, null, null, 1, null));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,124 @@
+package com.alexduzi.dscommerce.services;
+
+import com.alexduzi.dscommerce.config.CacheConfig;
+import com.alexduzi.dscommerce.dto.ProductMinDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:largecatalog",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductServiceTests {
+
+    // above the 65535 bind parameters most JDBC drivers accept in one statement
+    private static final int LARGE_MATCH_COUNT = 70000;
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product WHERE name LIKE 'Bulk item%'", Integer.class);
+        if (existing != null && existing == LARGE_MATCH_COUNT) {
+            return;
+        }
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < LARGE_MATCH_COUNT; i++) {
+            products.add(new Object[]{1000000L + i, "Bulk item " + i, (double) (i % 1000), "Bulk", "img"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_product (id, name, price, description, img_url) VALUES (?, ?, ?, ?, ?)", products);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void findAllShouldSortInDatabaseWhenMatchesExceedBindParameterLimit() {
+        statistics.clear();
+        Page<ProductMinDTO> page = service.findAll("bulk", PageRequest.of(1, 5, Sort.by("price").descending().and(Sort.by("id"))));
+
+        Assertions.assertEquals(LARGE_MATCH_COUNT, page.getTotalElements());
+        Assertions.assertEquals(List.of(1005999L, 1006999L, 1007999L, 1008999L, 1009999L),
+                page.getContent().stream().map(ProductMinDTO::getId).toList());
+        assertIndexMatchesWereSortedInDatabase();
+    }
+
+    @Test
+    void findAllSliceShouldSortInDatabaseWhenMatchesExceedBindParameterLimit() {
+        statistics.clear();
+        Slice<ProductMinDTO> slice = service.findAllSlice("bulk", PageRequest.of(0, 3, Sort.by("name")));
+
+        Assertions.assertTrue(slice.hasNext());
+        Assertions.assertEquals(List.of("Bulk item 0", "Bulk item 1", "Bulk item 10"),
+                slice.getContent().stream().map(ProductMinDTO::getName).toList());
+        assertIndexMatchesWereSortedInDatabase();
+    }
+
+    @Test
+    void findAllShouldComputeTotalWithoutCountQueryWhenLastPageIsNotFull() {
+        long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class);
+        cacheManager.getCache(CacheConfig.PRODUCT_COUNTS).clear();
+        statistics.clear();
+
+        Page<ProductMinDTO> page = service.findAll("", PageRequest.of((int) (total / 1000), 1000));
+
+        Assertions.assertEquals(total % 1000, page.getNumberOfElements());
+        Assertions.assertEquals(total, page.getTotalElements());
+        Assertions.assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllShouldMatchWildcardCharactersLiterallyInIndexAndDatabase() {
+        // "_" is shorter than a trigram and goes to the LIKE query, "m_1" goes through the index
+        Assertions.assertEquals(0L, service.findAll("_", PageRequest.of(0, 5)).getTotalElements());
+        Assertions.assertEquals(0L, service.findAll("%", PageRequest.of(0, 5)).getTotalElements());
+        Assertions.assertEquals(0L, service.findAll("m_1", PageRequest.of(0, 5)).getTotalElements());
+    }
+
+    @Test
+    void refreshShouldIndexProductsWrittenByAnotherNode() {
+        jdbcTemplate.update("INSERT INTO tb_product (id, name, price, description, img_url) VALUES (2000000, 'Written elsewhere', 1.0, 'Remote', 'img')");
+        Assertions.assertEquals(0L, service.findAll("elsewhere", PageRequest.of(0, 5)).getTotalElements());
+
+        searchIndex.refresh();
+
+        Assertions.assertEquals(1L, service.findAll("elsewhere", PageRequest.of(0, 5)).getTotalElements());
+    }
+
+    // one statement pages the matched ids, one loads the rows of the page; the LIKE query never runs
+    private void assertIndexMatchesWereSortedInDatabase() {
+        Assertions.assertEquals(2L, statistics.getPrepareStatementCount());
+        Assertions.assertTrue(Arrays.stream(statistics.getQueries()).noneMatch(query -> query.contains("LIKE")));
+    }
+}
@@ -68,4 +68,16 @@ public class TokenUtil {
                 .when()
                 .post("/oauth2/token");
     }
+
+    public static Response refreshRequest(String refreshToken) {
+        return given()
+                .auth()
+                .preemptive()
+                .basic("myclientid", "myclientsecret")
+                .contentType("application/x-www-form-urlencoded")
+                .formParam("grant_type", "refresh_token")
+                .formParam("refresh_token", refreshToken)
+                .when()
+                .post("/oauth2/token");
+    }
 }